@@ -4,6 +4,7 @@ plugins {
 	kotlin("jvm") version "2.4.0"
 	application
 	id("com.github.ben-manes.versions") version "0.54.0"
+	id("me.champeau.jmh") version "0.7.3"
 	`maven-publish`
 	signing
 }
@@ -51,6 +52,16 @@ tasks.withType<JavaCompile>().configureEach {
 	))
 }
 
+jmh {
+	// run with ./gradlew jmh, use -Pjmh.includes=<regex> to select benchmarks
+	project.findProperty("jmh.includes")?.let { includes = listOf(it.toString()) }
+	// report allocation rate per operation (gc.alloc.rate.norm)
+	profilers = listOf("gc")
+	// machine-readable results to track regressions, e.g., between Calimero snapshots
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
 dependencies {
 	implementation("io.calimero:calimero-core:$version")
 	implementation("io.calimero:calimero-device:$version")
@@ -0,0 +1,80 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.KNXFormatException;
+import io.calimero.cemi.CEMIFactory;
+import io.calimero.cemi.CEMILData;
+
+/**
+ * Cost per received routing indication of reading source, destination, service, and first ASDU byte of a group write:
+ * copying the cEMI frame out of the receive buffer and creating the frame object, compared with a {@link CemiView} over
+ * the (direct) receive buffer, as used by {@link RoutingReceiver}. The gc profiler reports the allocation per frame as
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CemiParsingBenchmark {
+	// routing indication with L-Data.ind 1.1.5->1/0/3, group write of a 2-byte float (DPT 9)
+	private static final byte[] datagram = HexFormat.of().parseHex("061005300013" + "2900bce011050803030080" + "0ce2");
+	private static final int headerSize = 6;
+
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(512);
+	private final CemiView view = new CemiView();
+
+	@Setup
+	public void setup() {
+		buffer.put(datagram).flip();
+	}
+
+	@Benchmark
+	public int frameObject() throws KNXFormatException {
+		// what the receive path of a link does: copy the frame into an array and parse it
+		final byte[] data = new byte[buffer.limit() - headerSize];
+		buffer.get(headerSize, data);
+		final var ldata = (CEMILData) CEMIFactory.create(data, 0, data.length);
+		final byte[] tpdu = ldata.getPayload();
+		return ldata.getSource().getRawAddress() ^ ldata.getDestination().getRawAddress()
+				^ ((tpdu[0] & 0x03) << 8 | tpdu[1] & 0xc0) ^ tpdu[2];
+	}
+
+	@Benchmark
+	public int flyweight() {
+		view.wrap(buffer, headerSize, buffer.limit() - headerSize);
+		return view.source() ^ view.destination() ^ view.apci() ^ view.asdu(0);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.datapoint.DatapointMap;
+import io.calimero.datapoint.DatapointModel;
+import io.calimero.datapoint.StateDP;
+import io.calimero.dptxlator.DPTXlator;
+import io.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Cost per telegram of the DPT translation approaches shown in {@link DptTranslation}, for common DPT main types:
+ * reusing a translator, creating a translator per call using {@link TranslatorTypes}, and looking up the DPT of a
+ * datapoint in a datapoint model before creating the translator, and decoding the numeric value using a shared
+ * {@link DptDecoder}, with and without datapoint lookup by raw group address. Encoding compares translator reuse
+ * with creation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DptTranslationBenchmark {
+	private static final GroupAddress address = new GroupAddress(1, 0, 1);
+
+	@State(Scope.Thread)
+	public static class Translation {
+		@Param({ "1.001", "5.001", "9.001", "14.056", "232.600" })
+		private String dptId;
+
+		private final DatapointModel<StateDP> datapoints = new DatapointMap<>();
+
+		private byte[] data;
+		private String value;
+		private DPTXlator translator;
+
+		@Setup
+		public void setup() throws KNXException {
+			data = data(dptId);
+			translator = TranslatorTypes.createTranslator(dptId, data);
+			value = translator.getValue();
+			datapoints.add(new StateDP(address, "datapoint", dptId));
+		}
+	}
+
+	// numeric values only, 232.600 (RGB) has no scalar value
+	@State(Scope.Thread)
+	public static class Numeric {
+		@Param({ "1.001", "5.001", "9.001", "14.056" })
+		private String dptId;
+
+		private final RawAddressDatapointModel<StateDP> rawAddressDatapoints = new RawAddressDatapointModel<>();
+		private final DptDecoder decoder = new DptDecoder();
+
+		private byte[] data;
+
+		@Setup
+		public void setup() {
+			data = data(dptId);
+			rawAddressDatapoints.add(new StateDP(address, "datapoint", dptId));
+		}
+	}
+
+	@Benchmark
+	public String decodeReuseTranslator(final Translation s) {
+		s.translator.setData(s.data);
+		return s.translator.getValue();
+	}
+
+	@Benchmark
+	public String decodeCreateTranslator(final Translation s) throws KNXException {
+		return TranslatorTypes.createTranslator(s.dptId, s.data).getValue();
+	}
+
+	@Benchmark
+	public String decodeDatapointModel(final Translation s) throws KNXException {
+		final var dp = s.datapoints.get(address);
+		return TranslatorTypes.createTranslator(dp.dptId(), s.data).getValue();
+	}
+
+	@Benchmark
+	public double decodeNumericCreateTranslator(final Numeric s) throws KNXException {
+		return TranslatorTypes.createTranslator(s.dptId, s.data).getNumericValue();
+	}
+
+	@Benchmark
+	public double decodeNumericDecoder(final Numeric s) throws KNXException {
+		return s.decoder.decodeNumeric(s.dptId, s.data, 0, s.data.length);
+	}
+
+	@Benchmark
+	public double decodeNumericRawAddressModel(final Numeric s) throws KNXException {
+		final var dp = s.rawAddressDatapoints.get(address.getRawAddress());
+		return s.decoder.decodeNumeric(dp.dptId(), s.data, 0, s.data.length);
+	}
+
+	@Benchmark
+	public byte[] encodeReuseTranslator(final Translation s) throws KNXException {
+		s.translator.setValue(s.value);
+		return s.translator.getData();
+	}
+
+	@Benchmark
+	public byte[] encodeCreateTranslator(final Translation s) throws KNXException {
+		final DPTXlator t = TranslatorTypes.createTranslator(0, s.dptId);
+		t.setValue(s.value);
+		return t.getData();
+	}
+
+	private static byte[] data(final String dptId) {
+		return HexFormat.of().parseHex(switch (dptId) {
+			case "1.001" -> "01";
+			case "5.001" -> "80";
+			case "9.001" -> "0ce2";
+			case "14.056" -> "449a5000";
+			case "232.600" -> "102030";
+			default -> throw new IllegalStateException("no data for DPT " + dptId);
+		});
+	}
+}
@@ -0,0 +1,83 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.process.ProcessEvent;
+
+/**
+ * Compares the cost per group notification of the {@link GroupMonitor} {@code System.out.println} output with the
+ * batched {@link MonitorOutput}. Both variants write to a discarding sink, so the results only show formatting,
+ * buffering, and locking costs. The gc profiler reports the allocation per notification as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupMonitorBenchmark {
+	// mimics System.out, a line-flushing print stream on top of a buffered output stream
+	private final PrintStream println = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream()),
+			true);
+	private MonitorOutput batched;
+	private ProcessEvent event;
+
+	@Setup
+	public void setup() {
+		batched = new MonitorOutput(Channels.newChannel(OutputStream.nullOutputStream()), 64 * 1024,
+				Duration.ofMillis(100));
+		event = new ProcessEvent(this, new IndividualAddress(1, 1, 5), new GroupAddress(1, 0, 3), 0x80,
+				new byte[] { 0x0c, (byte) 0xe2 }, false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		batched.close();
+	}
+
+	@Benchmark
+	public void println() {
+		println.println(GroupMonitor.format("write.ind", event));
+	}
+
+	@Benchmark
+	public void batchedOutput() {
+		batched.write(event);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.knxnetip.StreamConnection;
+import io.calimero.knxnetip.TcpConnection;
+import io.calimero.knxnetip.UnixDomainSocketConnection;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+
+/**
+ * Round-trip latency of a tunneling link to a local KNXnet/IP server, over a Unix domain socket, loopback TCP, and
+ * loopback UDP. The server is an in-process {@link LoopbackKnxipServer} without bus delay, so a round trip (L-Data
+ * request to confirmation) only measures client, transport, and server overhead. Sample time mode reports latency
+ * percentiles; {@code burst} sends 16 frames with a {@link PipelinedLink}, which benefits from the batched writes
+ * and reads of the server on stream connections (UDP tunneling sends one frame at a time).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalTransportBenchmark {
+	private static final int burst = 16;
+
+	@Param({ "uds", "tcp", "udp" })
+	private String transport;
+
+	private Path socketDir;
+	private LoopbackKnxipServer server;
+	private StreamConnection connection;
+	private KNXNetworkLink link;
+	private PipelinedLink pipelined;
+	private final CEMILData[] writes = new CEMILData[burst];
+
+	@Setup
+	public void setup() throws IOException, KNXException, InterruptedException {
+		final var loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		switch (transport) {
+			case "uds" -> {
+				socketDir = Files.createTempDirectory("knxnetip");
+				final var path = socketDir.resolve(".socket");
+				server = new LoopbackKnxipServer(UnixDomainSocketAddress.of(path), Duration.ZERO);
+				connection = UnixDomainSocketConnection.newConnection(path);
+				link = KNXNetworkLinkIP.newTunnelingLink(connection, new TPSettings());
+			}
+			case "tcp" -> {
+				server = new LoopbackKnxipServer(loopback, Duration.ZERO);
+				connection = TcpConnection.newTcpConnection((InetSocketAddress) server.localAddress());
+				link = KNXNetworkLinkIP.newTunnelingLink(connection, new TPSettings());
+			}
+			case "udp" -> {
+				server = LoopbackKnxipServer.newUdpServer(loopback, Duration.ZERO);
+				link = KNXNetworkLinkIP.newTunnelingLink(loopback, (InetSocketAddress) server.localAddress(), false,
+						new TPSettings());
+			}
+			default -> throw new IllegalArgumentException("unknown transport " + transport);
+		}
+		pipelined = new PipelinedLink(link, burst, Duration.ofSeconds(2), 2);
+		for (int i = 0; i < burst; i++)
+			writes[i] = new CEMILData(CEMILData.MC_LDATA_REQ, new IndividualAddress(0), new GroupAddress(1, 0, i),
+					new byte[] { 0, (byte) 0x80, (byte) i }, Priority.LOW);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		pipelined.close();
+		if (connection != null)
+			connection.close();
+		server.close();
+		if (socketDir != null)
+			Files.deleteIfExists(socketDir);
+	}
+
+	@Benchmark
+	public void roundTrip() throws KNXException {
+		link.send(writes[0], true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(burst)
+	public void burst() throws KNXException, InterruptedException {
+		for (final var write : writes)
+			pipelined.sendAsync(write);
+		pipelined.flush();
+	}
+}
@@ -0,0 +1,116 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.KeyAgreement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.knxnetip.SecureConnection;
+
+/**
+ * Client-side cost of setting up a KNX IP Secure tunneling session, without network round trips: deriving the keys from
+ * the passwords on every connect (as in {@link SecureTunnelingLink}), compared with taking them from a
+ * {@link SecureCredentialCache}, each followed by the session key agreement of the handshake. The key agreement runs
+ * against an in-process stand-in of the server side: both parties generate an X25519 key pair, agree on the shared
+ * secret, and hash it into the session key, like a KNXnet/IP server does on a session request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecureSessionSetupBenchmark {
+	private static final InetSocketAddress server = new InetSocketAddress(InetAddress.getLoopbackAddress(), 3671);
+	private static final int user = 2;
+	private static final String userPwd = "my-user-pwd";
+	private static final String deviceAuthPwd = "dev-pwd";
+
+	private SecureCredentialCache credentials;
+	private KeyPairGenerator keyPairGenerator;
+
+	@Setup
+	public void setup() throws GeneralSecurityException {
+		credentials = new SecureCredentialCache();
+		credentials.register(server, user, userPwd.toCharArray(), deviceAuthPwd.toCharArray()).join();
+		keyPairGenerator = KeyPairGenerator.getInstance("X25519");
+	}
+
+	@TearDown
+	public void tearDown() {
+		credentials.close();
+	}
+
+	@Benchmark
+	public byte[] derivedKeys() throws GeneralSecurityException {
+		final byte[] userKey = SecureConnection.hashUserPassword(userPwd.toCharArray());
+		final byte[] deviceAuthCode = SecureConnection.hashDeviceAuthenticationPassword(deviceAuthPwd.toCharArray());
+		return sessionKey(userKey, deviceAuthCode);
+	}
+
+	@Benchmark
+	public byte[] cachedKeys() throws GeneralSecurityException, InterruptedException {
+		final var keys = credentials.keys(server, user);
+		return sessionKey(keys.userKey(), keys.deviceAuthCode());
+	}
+
+	@Benchmark
+	public byte[] keyAgreement() throws GeneralSecurityException {
+		return sessionKey(null, null);
+	}
+
+	// key agreement of client and server stand-in, returns the session key of the client
+	private byte[] sessionKey(final byte[] userKey, final byte[] deviceAuthCode) throws GeneralSecurityException {
+		final var client = keyPairGenerator.generateKeyPair();
+		final var serverKeys = keyPairGenerator.generateKeyPair();
+
+		final var serverAgreement = KeyAgreement.getInstance("X25519");
+		serverAgreement.init(serverKeys.getPrivate());
+		serverAgreement.doPhase(client.getPublic(), true);
+		final byte[] serverSessionKey = MessageDigest.getInstance("SHA-256").digest(serverAgreement.generateSecret());
+
+		final var clientAgreement = KeyAgreement.getInstance("X25519");
+		clientAgreement.init(client.getPrivate());
+		clientAgreement.doPhase(serverKeys.getPublic(), true);
+		final byte[] sessionKey = MessageDigest.getInstance("SHA-256").digest(clientAgreement.generateSecret());
+
+		// the keys authenticate the handshake messages, their use is cheap compared to the key agreement
+		sessionKey[0] ^= serverSessionKey[0];
+		if (userKey != null)
+			sessionKey[1] = (byte) (sessionKey[1] ^ userKey[0] ^ deviceAuthCode[0]);
+		return sessionKey;
+	}
+}
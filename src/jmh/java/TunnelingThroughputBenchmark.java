@@ -0,0 +1,111 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.knxnetip.TcpConnection;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+
+/**
+ * Throughput of bulk group writes over a TCP tunneling link to a {@link LoopbackKnxipServer}, which confirms every
+ * frame after a simulated bus delay. Compares stop-and-wait sends ({@code sendRequestWait}, waiting for every
+ * confirmation) with a {@link PipelinedLink} of different send windows ({@code stopAndWait} does not depend on the
+ * window). Results are in frames per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TunnelingThroughputBenchmark {
+	private static final int frames = 100;
+
+	@Param({ "1", "4", "16" })
+	private int window;
+
+	// simulated bus time per frame, 0 only measures the client and server
+	@Param({ "0", "1" })
+	private int busDelayMillis;
+
+	private LoopbackKnxipServer server;
+	private TcpConnection tcp;
+	private KNXNetworkLink link;
+	private PipelinedLink pipelined;
+	private final CEMILData[] writes = new CEMILData[frames];
+
+	@Setup
+	public void setup() throws IOException, KNXException, InterruptedException {
+		server = new LoopbackKnxipServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				Duration.ofMillis(busDelayMillis));
+		tcp = TcpConnection.newTcpConnection((InetSocketAddress) server.localAddress());
+		link = KNXNetworkLinkIP.newTunnelingLink(tcp, new TPSettings());
+		pipelined = new PipelinedLink(link, window, Duration.ofSeconds(2), 2);
+		for (int i = 0; i < frames; i++)
+			writes[i] = new CEMILData(CEMILData.MC_LDATA_REQ, new IndividualAddress(0), new GroupAddress(1, 0, i),
+					new byte[] { 0, (byte) 0x80, (byte) i }, Priority.LOW);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pipelined.close();
+		tcp.close();
+		server.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(frames)
+	public void stopAndWait() throws KNXException {
+		for (final var write : writes)
+			link.send(write, true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(frames)
+	public void pipelined() throws KNXException, InterruptedException {
+		for (final var write : writes)
+			pipelined.sendAsync(write);
+		pipelined.flush();
+	}
+}
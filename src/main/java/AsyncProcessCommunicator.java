@@ -0,0 +1,248 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.calimero.CloseEvent;
+import io.calimero.DetachEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.datapoint.Datapoint;
+import io.calimero.dptxlator.DPTXlator;
+import io.calimero.dptxlator.TranslatorTypes;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+import io.calimero.process.ProcessEvent;
+import io.calimero.process.ProcessListener;
+
+/**
+ * Process communicator with non-blocking reads and writes, wrapping a {@link ProcessCommunicatorImpl}. Requests are
+ * sent directly on the network link, and the returned futures are completed from the receive path of the link: a
+ * read completes with the group response of its destination, a write completes with the link layer confirmation of
+ * the sent frame. No thread waits for a response, so thousands of concurrent reads do not need thousands of threads;
+ * with virtual threads, blocking on a returned future only parks the virtual thread.
+ * <p>
+ * Futures complete on the receiving thread of the link, use the {@code *Async} methods of {@link CompletableFuture}
+ * for long-running dependent actions. Concurrent reads of the same group address share a single group read. A write
+ * confirmation is matched by destination and APDU, so it completes the oldest write of that value to the destination;
+ * confirmations of other writes to the same destination, e.g., by another communicator on the link, are ignored.
+ * Requests time out after the response timeout of the wrapped process communicator.
+ */
+public final class AsyncProcessCommunicator implements AutoCloseable {
+	private static final int groupRead = 0x00;
+	private static final int groupWrite = 0x80;
+
+	private final KNXNetworkLink link;
+	private final ProcessCommunicator pc;
+
+	// outstanding reads, completed with the ASDU of the group response
+	private final Map<GroupAddress, CompletableFuture<byte[]>> reads = new ConcurrentHashMap<>();
+	// unconfirmed writes per destination, in send order
+	private final Map<GroupAddress, Queue<Write>> writes = new ConcurrentHashMap<>();
+
+	private record Write(byte[] tpdu, CompletableFuture<Void> future) {}
+
+	private final ProcessListener responses = new ProcessListener() {
+		@Override
+		public void groupReadResponse(final ProcessEvent e) {
+			final var read = reads.get(e.getDestination());
+			if (read != null)
+				read.complete(e.getASDU());
+		}
+
+		@Override
+		public void groupWrite(final ProcessEvent e) {}
+
+		@Override
+		public void detached(final DetachEvent e) {
+			failAll(new KNXException("process communicator detached"));
+		}
+	};
+
+	private final NetworkLinkListener confirmations = new NetworkLinkListener() {
+		@Override
+		public void confirmation(final FrameEvent e) {
+			if (!(e.getFrame() instanceof final CEMILData ldata)
+					|| !(ldata.getDestination() instanceof final GroupAddress dst))
+				return;
+			final byte[] tpdu = ldata.getPayload();
+			if (tpdu.length < 2 || ((tpdu[0] & 0x03) << 8 | tpdu[1] & 0xc0) != groupWrite)
+				return;
+			final var pending = writes.get(dst);
+			if (pending == null)
+				return;
+			for (final var write : pending) {
+				if (sameApdu(write.tpdu(), tpdu) && pending.remove(write)) {
+					if (ldata.isPositiveConfirmation())
+						write.future().complete(null);
+					else
+						write.future().completeExceptionally(
+								new KNXException("negative confirmation for write to " + dst));
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e) {
+			failAll(new KNXLinkClosedException("link closed"));
+		}
+	};
+
+	/**
+	 * Creates an asynchronous process communicator for the supplied link.
+	 *
+	 * @param link the network link, the link is not closed when this communicator is closed
+	 * @throws KNXLinkClosedException if the link is closed
+	 */
+	public AsyncProcessCommunicator(final KNXNetworkLink link) throws KNXLinkClosedException {
+		this.link = link;
+		pc = new ProcessCommunicatorImpl(link);
+		pc.addProcessListener(responses);
+		link.addLinkListener(confirmations);
+	}
+
+	/**
+	 * {@return the wrapped process communicator, for the blocking API and for adding process listeners}
+	 */
+	public ProcessCommunicator processCommunicator() { return pc; }
+
+	/**
+	 * Sets the timeout for responses and confirmations of subsequent requests.
+	 *
+	 * @param timeout the timeout
+	 */
+	public void setResponseTimeout(final Duration timeout) { pc.setResponseTimeout(timeout); }
+
+	/**
+	 * Reads the value of a group address. Concurrent reads of the same group address share one group read on the KNX
+	 * network, but every caller gets its own future and ASDU; completing or cancelling a returned future does not
+	 * affect the other callers.
+	 *
+	 * @param dst group address to read
+	 * @return future completed with the ASDU of the group response, or exceptionally on timeout, link error, or close
+	 */
+	public CompletableFuture<byte[]> readAsync(final GroupAddress dst) {
+		final var existing = reads.get(dst);
+		if (existing != null)
+			return existing.thenApply(byte[]::clone);
+		final var read = new CompletableFuture<byte[]>();
+		final var concurrent = reads.putIfAbsent(dst, read);
+		if (concurrent != null)
+			return concurrent.thenApply(byte[]::clone);
+
+		withTimeout(read).whenComplete((asdu, t) -> reads.remove(dst, read));
+		send(read, dst, new byte[] { 0, groupRead });
+		return read.thenApply(byte[]::clone);
+	}
+
+	/**
+	 * Reads the value of a datapoint.
+	 *
+	 * @param dp datapoint to read
+	 * @return future completed with a translator containing the datapoint value
+	 */
+	public CompletableFuture<DPTXlator> readAsync(final Datapoint dp) {
+		return readAsync(dp.getMainAddress()).thenApply(asdu -> {
+			try {
+				return TranslatorTypes.createTranslator(dp.dptId(), asdu);
+			}
+			catch (final KNXException e) {
+				throw new IllegalStateException(dp.getMainAddress() + ": " + e.getMessage(), e);
+			}
+		});
+	}
+
+	/**
+	 * Writes a value to a group address.
+	 *
+	 * @param dst group destination address
+	 * @param value translator containing the value to write
+	 * @return future completed when the link confirmed the write
+	 */
+	public CompletableFuture<Void> writeAsync(final GroupAddress dst, final DPTXlator value) {
+		final byte[] data = value.getData();
+		final byte[] tpdu;
+		// values with less than 8 bits use the length-optimized APDU
+		if (value.getTypeSize() == 0)
+			tpdu = new byte[] { 0, (byte) (groupWrite | data[0] & 0x3f) };
+		else {
+			tpdu = new byte[2 + data.length];
+			tpdu[1] = (byte) groupWrite;
+			System.arraycopy(data, 0, tpdu, 2, data.length);
+		}
+		final var write = new Write(tpdu, new CompletableFuture<>());
+		final var pending = writes.computeIfAbsent(dst, k -> new ConcurrentLinkedQueue<>());
+		pending.add(write);
+		withTimeout(write.future()).whenComplete((v, t) -> pending.remove(write));
+		send(write.future(), dst, tpdu);
+		return write.future();
+	}
+
+	/**
+	 * Detaches from the link, outstanding requests complete exceptionally.
+	 */
+	@Override
+	public void close() {
+		link.removeLinkListener(confirmations);
+		pc.close();
+		failAll(new KNXException("process communicator closed"));
+	}
+
+	@Override
+	public String toString() {
+		return "async " + pc + ", " + reads.size() + " outstanding reads";
+	}
+
+	private <T> CompletableFuture<T> withTimeout(final CompletableFuture<T> request) {
+		return request.orTimeout(pc.responseTimeout().toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private void send(final CompletableFuture<?> request, final GroupAddress dst, final byte[] tpdu) {
+		try {
+			link.sendRequest(dst, Priority.LOW, tpdu);
+		}
+		catch (final KNXException e) {
+			request.completeExceptionally(e);
+		}
+	}
+
+	private void failAll(final KNXException e) {
+		reads.values().forEach(read -> read.completeExceptionally(e));
+		writes.values().forEach(pending -> pending.forEach(write -> write.future().completeExceptionally(e)));
+	}
+
+	// compares the APDUs of two TPDUs, ignoring the transport layer control field
+	private static boolean sameApdu(final byte[] tpdu1, final byte[] tpdu2) {
+		return (tpdu1[0] & 0x03) == (tpdu2[0] & 0x03) && Arrays.equals(tpdu1, 1, tpdu1.length, tpdu2, 1, tpdu2.length);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.GroupAddress;
+import io.calimero.datapoint.Datapoint;
+import io.calimero.dptxlator.DPTXlator;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.process.ProcessCommunicator;
+
+/**
+ * Reads the values of many datapoints at once. In contrast to the blocking reads of {@link ProcessCommunicator}, which
+ * wait for the response (or the response timeout) of one datapoint before reading the next, the batch reader keeps a
+ * window of group read requests in flight using an {@link AsyncProcessCommunicator}. Every read has its own timeout,
+ * so a missing response only occupies its slot in the window until the timeout, without stalling the other reads.
+ * <p>
+ * Datapoints with the same group address are read once. Reads are safe to issue concurrently from several threads.
+ */
+public final class BatchGroupReader {
+	private final AsyncProcessCommunicator apc;
+	private final Semaphore window;
+	private final int windowSize;
+
+	private final AtomicLong responses = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+
+	/**
+	 * Creates a batch reader sending group reads using {@code apc}, the timeout of a single read is the response
+	 * timeout of {@code apc}.
+	 *
+	 * @param apc asynchronous process communicator
+	 * @param window maximum number of reads in flight
+	 */
+	public BatchGroupReader(final AsyncProcessCommunicator apc, final int window) {
+		if (window < 1)
+			throw new IllegalArgumentException("window " + window + " < 1");
+		this.apc = apc;
+		this.window = new Semaphore(window);
+		windowSize = window;
+	}
+
+	/**
+	 * Reads the values of the supplied datapoints. The returned future completes after every read either received
+	 * its response or timed out; it only completes exceptionally if the link got closed.
+	 *
+	 * @param datapoints datapoints to read
+	 * @return future with a map of group address to the translated value, containing every datapoint which responded
+	 *         (datapoints which timed out or have an unsupported DPT are not in the map)
+	 */
+	public CompletableFuture<Map<GroupAddress, DPTXlator>> read(final Collection<? extends Datapoint> datapoints) {
+		final Map<GroupAddress, DPTXlator> values = new ConcurrentHashMap<>();
+		final List<CompletableFuture<?>> reads = new ArrayList<>(datapoints.size());
+		final var result = new CompletableFuture<Map<GroupAddress, DPTXlator>>();
+
+		Thread.ofVirtual().name("batch group read").start(() -> {
+			try {
+				for (final var dp : datapoints) {
+					if (result.isDone())
+						return;
+					window.acquire();
+					final var read = apc.readAsync(dp).whenComplete((value, t) -> {
+						window.release();
+						final var cause = t != null && t.getCause() != null ? t.getCause() : t;
+						if (value != null) {
+							values.put(dp.getMainAddress(), value);
+							responses.incrementAndGet();
+						}
+						else if (cause instanceof TimeoutException)
+							timeouts.incrementAndGet();
+						else if (cause instanceof KNXLinkClosedException)
+							result.completeExceptionally(cause);
+					});
+					reads.add(read.exceptionally(t -> null));
+				}
+				CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new))
+						.thenRun(() -> result.complete(Collections.unmodifiableMap(values)));
+			}
+			catch (final InterruptedException e) {
+				result.completeExceptionally(e);
+			}
+		});
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "batch group reader " + (windowSize - window.availablePermits()) + "/" + windowSize + " in flight, "
+				+ responses + " responses, " + timeouts + " timeouts";
+	}
+}
@@ -0,0 +1,197 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KNXnet/IP frames over a stream socket (Unix domain socket or TCP), with batched writes and reads to reduce the
+ * number of system calls, which dominate the cost of a frame on a local connection.
+ * <ul>
+ * <li>Writes are combined: the thread calling {@link #send(ByteBuffer)} while no write is in progress becomes the
+ * writer, and writes all frames queued meanwhile by other threads in one gathering write, up to 64 frames at a
+ * time. The other threads return after queuing their frame, i.e., for them a send is fire-and-forget.</li>
+ * <li>Reads fill a direct buffer with as many bytes as available, and {@link #receive(FrameHandler)} hands every
+ * complete frame in the buffer to the handler, so a burst of frames costs one read.</li>
+ * </ul>
+ * An I/O error while writing closes the channel, and queued frames are discarded: the writer gets the exception, the
+ * threads which queued the discarded frames don't, but their next send fails because the channel is closed. Hence,
+ * use this channel where a lost connection makes pending frames obsolete anyway, like the responses of a server.
+ */
+public final class BatchingFrameChannel implements AutoCloseable {
+	/**
+	 * Handler of received frames, the frame body is only valid during the call.
+	 */
+	@FunctionalInterface
+	public interface FrameHandler {
+		void frame(int serviceType, ByteBuffer buffer, int bodyOffset, int bodyLength) throws IOException;
+	}
+
+	private static final int headerSize = 6;
+	private static final int maxBatch = 64;
+
+	private final SocketChannel channel;
+	private final ByteBuffer readBuffer;
+
+	// guarded by queued
+	private final ArrayDeque<ByteBuffer> queued = new ArrayDeque<>();
+	private boolean writing;
+	// only used by the current writer
+	private final ByteBuffer[] batch = new ByteBuffer[maxBatch];
+
+	private final LongAdder framesWritten = new LongAdder();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder framesRead = new LongAdder();
+	private final LongAdder reads = new LongAdder();
+
+	/**
+	 * Creates a frame channel for a connected socket channel in blocking mode.
+	 *
+	 * @param channel socket channel
+	 * @param readBufferSize size of the read buffer, which limits the frame length
+	 */
+	public BatchingFrameChannel(final SocketChannel channel, final int readBufferSize) {
+		this.channel = channel;
+		readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+	}
+
+	/**
+	 * Creates a KNXnet/IP frame.
+	 *
+	 * @param serviceType KNXnet/IP service type
+	 * @param body frame body
+	 * @return buffer containing header and body, ready to send
+	 */
+	public static ByteBuffer frame(final int serviceType, final byte[] body) {
+		return ByteBuffer.allocate(headerSize + body.length).put((byte) headerSize).put((byte) 0x10)
+				.putShort((short) serviceType).putShort((short) (headerSize + body.length)).put(body).flip();
+	}
+
+	public void send(final int serviceType, final byte[] body) throws IOException {
+		send(frame(serviceType, body));
+	}
+
+	/**
+	 * Sends a frame, or queues it if another thread is writing; in that case, the other thread writes the frame, and
+	 * this method returns before the frame is written. A queued frame is discarded if writing fails.
+	 *
+	 * @param frame KNXnet/IP frame
+	 * @throws IOException on I/O error writing frames by this thread, or if the channel is closed
+	 */
+	public void send(final ByteBuffer frame) throws IOException {
+		synchronized (queued) {
+			if (!channel.isOpen())
+				throw new ClosedChannelException();
+			queued.add(frame);
+			if (writing)
+				return;
+			writing = true;
+		}
+		try {
+			while (true) {
+				int n = 0;
+				synchronized (queued) {
+					while (n < maxBatch && !queued.isEmpty())
+						batch[n++] = queued.poll();
+					if (n == 0) {
+						writing = false;
+						return;
+					}
+				}
+				write(n);
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			synchronized (queued) {
+				queued.clear();
+				writing = false;
+			}
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads once from the channel (blocking if no data is available), and calls the handler for every complete frame
+	 * received so far.
+	 *
+	 * @param handler frame handler
+	 * @return number of handled frames, or -1 at end of stream
+	 * @throws IOException on I/O error, or if a frame header is invalid or the frame exceeds the read buffer
+	 */
+	public int receive(final FrameHandler handler) throws IOException {
+		if (channel.read(readBuffer) < 0)
+			return -1;
+		reads.increment();
+		readBuffer.flip();
+		int frames = 0;
+		try {
+			int pos = readBuffer.position();
+			while (readBuffer.limit() - pos >= headerSize) {
+				final int length = readBuffer.getShort(pos + 4) & 0xffff;
+				if (readBuffer.get(pos) != headerSize || length < headerSize || length > readBuffer.capacity())
+					throw new IOException("invalid KNXnet/IP frame header");
+				if (readBuffer.limit() - pos < length)
+					break;
+				final int svc = readBuffer.getShort(pos + 2) & 0xffff;
+				handler.frame(svc, readBuffer, pos + headerSize, length - headerSize);
+				pos += length;
+				frames++;
+			}
+			readBuffer.position(pos);
+		}
+		finally {
+			readBuffer.compact();
+			framesRead.add(frames);
+		}
+		return frames;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		}
+		catch (final IOException e) {
+			System.err.println(this + ": " + e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "frame channel (" + framesWritten + " frames in " + writes + " writes, " + framesRead + " frames in "
+				+ reads + " reads)";
+	}
+
+	// writes the first n frames of the batch, a write might only write part of the frames
+	private void write(final int n) throws IOException {
+		int first = 0;
+		while (first < n) {
+			channel.write(batch, first, n - first);
+			writes.increment();
+			while (first < n && !batch[first].hasRemaining())
+				batch[first++] = null;
+		}
+		framesWritten.add(n);
+	}
+}
@@ -0,0 +1,267 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.Priority;
+import io.calimero.buffer.Configuration;
+import io.calimero.buffer.NetworkFilter;
+import io.calimero.buffer.RequestFilter;
+import io.calimero.buffer.StateFilter;
+import io.calimero.cemi.CEMI;
+import io.calimero.cemi.CEMILData;
+import io.calimero.datapoint.Datapoint;
+import io.calimero.datapoint.StateDP;
+
+/**
+ * State filter for a network buffer with bounded size and expiring entries. Like {@link StateFilter}, the filter keeps
+ * the last group write or group response of every group address, and answers group reads of the buffered link with
+ * the stored value as group response. In addition,
+ * <ul>
+ * <li>the number of entries and their (estimated) memory are capped, exceeding a cap evicts the least recently used
+ * entries,</li>
+ * <li>entries expire after a time to live, configurable per DPT; an expired entry is not served and the read goes to
+ * the KNX network,</li>
+ * <li>hits, misses, evictions, and expirations are counted, see {@link #stats()}.</li>
+ * </ul>
+ * The DPT of a group address is looked up in the datapoint model of the buffer configuration. The time to live of a
+ * state-based datapoint with an expiration timeout is the expiration timeout, otherwise the time to live set for its
+ * DPT, its DPT main number, or the default time to live (in that order).
+ * <p>
+ * Use a {@link StateSnapshot} to persist the buffered values across restarts.
+ */
+public final class BoundedStateFilter implements NetworkFilter, RequestFilter {
+	/**
+	 * Filter statistics.
+	 *
+	 * @param hits reads served from the filter
+	 * @param misses reads not served, because the value was not stored or expired
+	 * @param evictions entries evicted to stay within the size caps
+	 * @param expirations entries removed on access because their time to live passed
+	 * @param entries current number of entries
+	 * @param bytes current estimated memory of all entries
+	 */
+	public record Stats(long hits, long misses, long evictions, long expirations, int entries, long bytes) {
+		public double hitRatio() { return hits + misses == 0 ? 0 : (double) hits / (hits + misses); }
+	}
+
+	// estimated memory per entry without TPDU: frame, entry, map node, and boxed key
+	private static final int entryOverhead = 160;
+
+	private static final int groupResponse = 0x40;
+	private static final int groupWrite = 0x80;
+
+	private record Entry(CEMILData frame, long receivedAt, long expiresAt, int bytes) {}
+
+	// state of a group address for snapshots, with the receive time in milliseconds since the epoch
+	record State(int address, int source, int priority, byte[] tpdu, long receivedAt) {}
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final Duration defaultTimeToLive;
+	private final Map<String, Duration> dptTimeToLive = new ConcurrentHashMap<>();
+	private final Map<Integer, Duration> mainTypeTimeToLive = new ConcurrentHashMap<>();
+
+	// raw group address -> entry, in access order
+	private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+
+	/**
+	 * Creates a new state filter.
+	 *
+	 * @param maxEntries maximum number of buffered group addresses
+	 * @param maxBytes maximum estimated memory used by the buffered values
+	 * @param defaultTimeToLive time to live of values of DPTs without specific time to live
+	 */
+	public BoundedStateFilter(final int maxEntries, final long maxBytes, final Duration defaultTimeToLive) {
+		if (maxEntries < 1 || maxBytes < entryOverhead)
+			throw new IllegalArgumentException("caps too small: " + maxEntries + " entries, " + maxBytes + " bytes");
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.defaultTimeToLive = defaultTimeToLive;
+	}
+
+	/**
+	 * Sets the time to live of values of a DPT, applied to values stored afterwards.
+	 *
+	 * @param dptId DPT ID, e.g., "9.001"
+	 * @param timeToLive time to live
+	 */
+	public void setTimeToLive(final String dptId, final Duration timeToLive) {
+		dptTimeToLive.put(dptId, timeToLive);
+	}
+
+	/**
+	 * Sets the time to live of values of all DPTs of a DPT main type, applied to values stored afterwards.
+	 *
+	 * @param mainNumber DPT main number, e.g., 9
+	 * @param timeToLive time to live
+	 */
+	public void setTimeToLive(final int mainNumber, final Duration timeToLive) {
+		mainTypeTimeToLive.put(mainNumber, timeToLive);
+	}
+
+	@Override
+	public synchronized void init(final Configuration c) {
+		entries.clear();
+		bytes = 0;
+	}
+
+	@Override
+	public void accept(final CEMI frame, final Configuration c) {
+		if (!(frame instanceof final CEMILData ldata) || !(ldata.getDestination() instanceof final GroupAddress dst))
+			return;
+		final byte[] tpdu = ldata.getPayload();
+		if (tpdu.length < 2)
+			return;
+		final int svc = (tpdu[0] & 0x03) << 8 | tpdu[1] & 0xc0;
+		if (svc != groupWrite && svc != groupResponse)
+			return;
+
+		// we answer reads with a group response, so store writes as responses
+		final byte[] response = tpdu.clone();
+		response[1] = (byte) (response[1] & 0x3f | groupResponse);
+		final var stored = new CEMILData(CEMILData.MC_LDATA_IND, ldata.getSource(), dst, response,
+				ldata.getPriority());
+		final long expiresAt = System.nanoTime() + timeToLive(dst, c).toNanos();
+		final int size = entryOverhead + response.length;
+		put(dst.getRawAddress(), new Entry(stored, System.currentTimeMillis(), expiresAt, size));
+	}
+
+	@Override
+	public synchronized CEMILData request(final KNXAddress dst, final Configuration c) {
+		final int key = dst.getRawAddress();
+		final var entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (System.nanoTime() - entry.expiresAt() >= 0) {
+			remove(key);
+			expirations++;
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.frame();
+	}
+
+	/**
+	 * {@return a snapshot of the filter statistics}
+	 */
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, evictions, expirations, entries.size(), bytes);
+	}
+
+	@Override
+	public String toString() {
+		final var stats = stats();
+		return "bounded state filter " + stats.entries() + "/" + maxEntries + " entries, " + stats.bytes() + "/"
+				+ maxBytes + " bytes, hit ratio %.2f, ".formatted(stats.hitRatio()) + stats.evictions()
+				+ " evictions, " + stats.expirations() + " expirations";
+	}
+
+	// returns the states of all entries which did not expire, for a snapshot
+	synchronized List<State> states() {
+		final long now = System.nanoTime();
+		final List<State> states = new ArrayList<>(entries.size());
+		entries.forEach((address, entry) -> {
+			if (now - entry.expiresAt() < 0) {
+				final var frame = entry.frame();
+				states.add(new State(address, frame.getSource().getRawAddress(), frame.getPriority().value(),
+						frame.getPayload(), entry.receivedAt()));
+			}
+		});
+		return states;
+	}
+
+	// restores states of a snapshot, states which exceeded their time to live or whose address already has a (newer)
+	// entry are skipped; returns restored states
+	int restore(final List<State> states, final Configuration c) {
+		final long nanoNow = System.nanoTime();
+		final long now = System.currentTimeMillis();
+		int restored = 0;
+		for (final var state : states) {
+			final var dst = new GroupAddress(state.address());
+			final long age = Math.max(0, now - state.receivedAt());
+			final long remaining = timeToLive(dst, c).toMillis() - age;
+			if (remaining <= 0)
+				continue;
+			final var frame = new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(state.source()), dst,
+					state.tpdu(), Priority.get(state.priority()));
+			if (putIfAbsent(state.address(), new Entry(frame, state.receivedAt(), nanoNow + remaining * 1_000_000,
+					entryOverhead + state.tpdu().length)))
+				restored++;
+		}
+		return restored;
+	}
+
+	private synchronized void put(final int address, final Entry entry) {
+		final var replaced = entries.put(address, entry);
+		bytes += entry.bytes() - (replaced != null ? replaced.bytes() : 0);
+		evict();
+	}
+
+	private synchronized boolean putIfAbsent(final int address, final Entry entry) {
+		if (entries.containsKey(address))
+			return false;
+		put(address, entry);
+		return true;
+	}
+
+	private Duration timeToLive(final GroupAddress dst, final Configuration c) {
+		final var model = c != null ? c.getDatapointModel() : null;
+		final Datapoint dp = model != null ? model.get(dst) : null;
+		if (dp == null)
+			return defaultTimeToLive;
+		if (dp instanceof final StateDP state && state.getExpirationTimeout() > 0)
+			return Duration.ofSeconds(state.getExpirationTimeout());
+		final var ttl = dp.dptId() != null ? dptTimeToLive.get(dp.dptId()) : null;
+		if (ttl != null)
+			return ttl;
+		return mainTypeTimeToLive.getOrDefault(dp.mainNumber(), defaultTimeToLive);
+	}
+
+	private void evict() {
+		final var i = entries.values().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && i.hasNext()) {
+			bytes -= i.next().bytes();
+			i.remove();
+			evictions++;
+		}
+	}
+
+	private void remove(final int key) {
+		final var entry = entries.remove(key);
+		if (entry != null)
+			bytes -= entry.bytes();
+	}
+}
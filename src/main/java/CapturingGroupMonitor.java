@@ -0,0 +1,72 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+
+/**
+ * Example code recording all group notifications of a KNX network into a binary telegram capture
+ * ({@link TelegramCapture}), instead of printing them like the {@link GroupMonitor}. Group notifications are handed off
+ * to a {@link MonitorPipeline}, whose consumer thread appends them to the memory-mapped segments of the capture. Read a
+ * capture back using {@link TelegramCaptureReader}.
+ * <p>
+ * Run this example with the capture directory as argument, e.g.,
+ * {@code ./gradlew run -DmainClass=CapturingGroupMonitor --args="capture"}. It records until the KNX network link
+ * connection got closed.
+ */
+public class CapturingGroupMonitor {
+	/**
+	 * Address of your KNXnet/IP server. Replace the host or IP address as necessary.
+	 */
+	private static final String remoteHost = "192.168.10.10";
+
+	public static void main(final String[] args) {
+		if (args.length != 1) {
+			System.out.println("Usage: CapturingGroupMonitor <capture directory>");
+			return;
+		}
+		final var directory = Path.of(args[0]);
+		final var anyLocal = new InetSocketAddress(0);
+		final var remote = new InetSocketAddress(remoteHost, 3671);
+		try (KNXNetworkLink knxLink = KNXNetworkLinkIP.newTunnelingLink(anyLocal, remote, false, new TPSettings());
+		     ProcessCommunicator pc = new ProcessCommunicatorImpl(knxLink);
+		     var capture = new TelegramCapture(directory, TelegramCapture.DefaultSegmentSize);
+		     // a capture should not lose telegrams, and writing to a memory-mapped segment won't block for long
+		     var pipeline = new MonitorPipeline(capture, 8192, MonitorPipeline.Overflow.Block)) {
+
+			pc.addProcessListener(pipeline);
+			System.out.println("Capturing KNX network using KNXnet/IP server " + remoteHost + " into " + directory
+					+ " ...");
+
+			while (knxLink.isOpen()) Thread.sleep(1000);
+			System.out.println(pipeline);
+		}
+		catch (final KNXException | IOException | InterruptedException | RuntimeException e) {
+			System.err.println(e);
+		}
+	}
+}
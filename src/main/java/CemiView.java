@@ -0,0 +1,197 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.nio.ByteBuffer;
+
+import io.calimero.KNXFormatException;
+import io.calimero.cemi.CEMILData;
+
+/**
+ * Flyweight view of a cEMI L-Data frame in a byte buffer. A view is wrapped around a received frame, and reads the
+ * frame fields in place: reading the source, destination, application service, or ASDU of a frame does not copy the
+ * frame or allocate. A frame object is only created on demand, using {@link #toFrame()}.
+ * <p>
+ * A view is only valid as long as its buffer contains the frame; a view is not thread-safe. The receiver of frames
+ * usually reuses one view (and its buffers) for all frames, therefore listeners must not keep a view, but copy what
+ * they need.
+ */
+public final class CemiView {
+	private static final int ldataReq = 0x11;
+	private static final int ldataCon = 0x2e;
+	private static final int ldataInd = 0x29;
+
+	private static final int groupResponse = 0x40;
+	private static final int groupWrite = 0x80;
+
+	// fields after the additional info: ctrl1, ctrl2, source (2 bytes), destination (2), NPDU length, TPDU
+	private static final int minLength = 2 + 7 + 1;
+
+	private ByteBuffer buffer;
+	private int offset;
+	private int length;
+	// offset of control field 1 and the TPDU in the buffer
+	private int ctrl;
+	private int tpdu;
+
+	/**
+	 * Wraps this view around the cEMI frame at {@code offset} of {@code buffer}.
+	 *
+	 * @param buffer buffer containing the frame, the buffer position and limit are not used
+	 * @param offset offset of the cEMI message code
+	 * @param length length of the cEMI frame
+	 * @return {@code true} if the buffer contains a valid L-Data frame, {@code false} otherwise, and the view is not
+	 *         usable
+	 */
+	public boolean wrap(final ByteBuffer buffer, final int offset, final int length) {
+		this.buffer = null;
+		if (length < minLength || offset + length > buffer.limit())
+			return false;
+		final int mc = buffer.get(offset) & 0xff;
+		if (mc != ldataReq && mc != ldataCon && mc != ldataInd)
+			return false;
+		final int ctrl = offset + 2 + (buffer.get(offset + 1) & 0xff);
+		final int tpdu = ctrl + 7;
+		if (tpdu > offset + length || tpdu + 1 + (buffer.get(tpdu - 1) & 0xff) > offset + length)
+			return false;
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+		this.ctrl = ctrl;
+		this.tpdu = tpdu;
+		return true;
+	}
+
+	public int messageCode() { return buffer.get(offset) & 0xff; }
+
+	/**
+	 * {@return the raw source address of the frame}
+	 */
+	public int source() { return buffer.getShort(ctrl + 2) & 0xffff; }
+
+	/**
+	 * {@return the raw destination address, a group address if {@link #isGroupDestination()}}
+	 */
+	public int destination() { return buffer.getShort(ctrl + 4) & 0xffff; }
+
+	public boolean isGroupDestination() { return (buffer.get(ctrl + 1) & 0x80) != 0; }
+
+	/**
+	 * {@return the priority value of the frame, see {@link io.calimero.Priority#get(int)}}
+	 */
+	public int priority() { return (buffer.get(ctrl) >> 2) & 0x03; }
+
+	public int hopCount() { return (buffer.get(ctrl + 1) >> 4) & 0x07; }
+
+	/**
+	 * Returns the application layer service of the frame, i.e., the upper 4 bits of the APCI, e.g., {@code 0x80} for a
+	 * group value write; or -1 for a frame without APDU.
+	 *
+	 * @return application layer service
+	 */
+	public int apci() {
+		if (tpduLength() < 2)
+			return -1;
+		return (buffer.get(tpdu) & 0x03) << 8 | buffer.get(tpdu + 1) & 0xc0;
+	}
+
+	public int tpduLength() { return (buffer.get(tpdu - 1) & 0xff) + 1; }
+
+	/**
+	 * Returns the length of the ASDU. Only group value writes and responses have an ASDU optimized into the APCI
+	 * (e.g., a boolean group value), with a length of 1; a group value read has no ASDU.
+	 *
+	 * @return ASDU length
+	 */
+	public int asduLength() {
+		final int n = tpduLength();
+		if (n == 2) {
+			final int apci = apci();
+			return apci == groupWrite || apci == groupResponse ? 1 : 0;
+		}
+		return n < 2 ? 0 : n - 2;
+	}
+
+	/**
+	 * Returns a byte of the ASDU, the first byte of an optimized ASDU (of a group value write or response) contains the
+	 * lower 6 bits of the APCI.
+	 *
+	 * @param index index of the byte, {@code 0 <= index < asduLength()}
+	 * @return the ASDU byte
+	 */
+	public byte asdu(final int index) {
+		if (index < 0 || index >= asduLength())
+			throw new IndexOutOfBoundsException(index);
+		if (tpduLength() == 2)
+			return (byte) (buffer.get(tpdu + 1) & 0x3f);
+		return buffer.get(tpdu + 2 + index);
+	}
+
+	/**
+	 * Copies the ASDU into {@code dst}.
+	 *
+	 * @param dst destination array with a length of at least {@link #asduLength()}
+	 * @return length of the ASDU
+	 */
+	public int copyAsdu(final byte[] dst) {
+		final int n = asduLength();
+		if (tpduLength() == 2) {
+			if (n == 1)
+				dst[0] = asdu(0);
+		}
+		else
+			buffer.get(tpdu + 2, dst, 0, n);
+		return n;
+	}
+
+	/**
+	 * Returns a read-only buffer of the ASDU sharing the frame bytes, this allocates a buffer object. An optimized ASDU
+	 * is not part of the frame bytes, the buffer is empty, use {@link #asdu(int)} for these.
+	 *
+	 * @return ASDU buffer
+	 */
+	public ByteBuffer asduSlice() {
+		final int n = tpduLength();
+		return n <= 2 ? ByteBuffer.allocate(0) : buffer.slice(tpdu + 2, n - 2).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Creates the L-Data frame object of this view, copying the frame.
+	 *
+	 * @return the L-Data frame
+	 * @throws KNXFormatException if Calimero does not accept the frame
+	 */
+	public CEMILData toFrame() throws KNXFormatException {
+		final byte[] data = new byte[length];
+		buffer.get(offset, data);
+		return new CEMILData(data, 0, length);
+	}
+
+	@Override
+	public String toString() {
+		if (buffer == null)
+			return "no frame";
+		final int src = source();
+		final int dst = destination();
+		final String dstString = isGroupDestination()
+				? (dst >>> 11) + "/" + ((dst >>> 8) & 0x07) + "/" + (dst & 0xff)
+				: (dst >>> 12) + "." + ((dst >>> 8) & 0x0f) + "." + (dst & 0xff);
+		return (src >>> 12) + "." + ((src >>> 8) & 0x0f) + "." + (src & 0xff) + "->" + dstString + " mc 0x"
+				+ Integer.toHexString(messageCode()) + ", TPDU length " + tpduLength();
+	}
+}
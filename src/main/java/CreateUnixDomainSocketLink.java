@@ -1,6 +1,6 @@
 /*
     Calimero 3 - A library for KNX network access
-    Copyright (c) 2024, 2024 B. Malinowsky
+    Copyright (c) 2024, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -33,6 +33,9 @@ import io.calimero.link.medium.TPSettings;
  * <p>
  * You can safely run this example, the (established) connection is closed directly afterwards. No KNX messages are sent
  * to the KNX network.
+ * <p>
+ * Without a local KNXnet/IP server, run {@link LoopbackKnxipServer} with the socket path as argument. The latency of
+ * UDS tunneling compared to loopback TCP and UDP is measured by {@code LocalTransportBenchmark}.
  */
 public class CreateUnixDomainSocketLink {
 	/**
@@ -1,13 +1,7 @@
-import java.time.LocalTime;
-import java.util.HexFormat;
-
-import io.calimero.DetachEvent;
 import io.calimero.KNXException;
 import io.calimero.link.KNXNetworkLinkUsb;
 import io.calimero.link.medium.TPSettings;
 import io.calimero.process.ProcessCommunicatorImpl;
-import io.calimero.process.ProcessEvent;
-import io.calimero.process.ProcessListener;
 import io.calimero.secure.Keyring;
 import io.calimero.secure.Security;
 
@@ -40,22 +34,12 @@ public class DataSecureProcessCommunication {
 		// Create the KNX USB device link as you would for plain communication
 		try (var knxLink = new KNXNetworkLinkUsb(device, new TPSettings());
 			// This process communicator constructor uses the keys of the default installation
-			var pc = new ProcessCommunicatorImpl(knxLink)) {
-
-			// Add a process listener which prints (decrypted) process events
-			pc.addProcessListener(new ProcessListener() {
-				@Override
-				public void groupWrite(final ProcessEvent e) { print("write.ind", e); }
-
-				@Override
-				public void groupReadRequest(final ProcessEvent e) { print("read.req", e); }
-
-				@Override
-				public void groupReadResponse(final ProcessEvent e) { print("read.res", e); }
+			var pc = new ProcessCommunicatorImpl(knxLink);
+			// Print (decrypted) process events from a monitor pipeline, so console output does not block the link
+			var output = MonitorOutput.stdout();
+			var pipeline = new MonitorPipeline(output, 1024, MonitorPipeline.Overflow.DropOldest)) {
 
-				@Override
-				public void detached(final DetachEvent e) {}
-			});
+			pc.addProcessListener(pipeline);
 
 			System.out.println("KNX Data Secure is ready");
 
@@ -65,14 +49,4 @@ public class DataSecureProcessCommunication {
 			Thread.sleep(10_000);
 		}
 	}
-
-	private static void print(final String svc, final ProcessEvent pe) {
-		try {
-			System.out.format("%s %s->%s %s: %s%n", LocalTime.now(), pe.getSourceAddr(), pe.getDestination(), svc,
-					HexFormat.of().formatHex(pe.getASDU()));
-		}
-		catch (final RuntimeException rte) {
-			System.err.println(rte);
-		}
-	}
 }
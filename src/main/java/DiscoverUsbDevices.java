@@ -1,6 +1,6 @@
 /*
     Calimero 3 - A library for KNX network access
-    Copyright (c) 2016, 2023 B. Malinowsky
+    Copyright (c) 2016, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -17,7 +17,7 @@
     Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
 */
 
-import io.calimero.serial.usb.UsbConnectionFactory;
+import java.time.Duration;
 
 /**
  * This example lists all found KNX USB and USB virtual serial devices. Only devices for KNX communication are listed
@@ -31,10 +31,17 @@ import io.calimero.serial.usb.UsbConnectionFactory;
 public class DiscoverUsbDevices {
 	public static void main(final String[] args) {
 		System.out.println("List of KNX USB devices:");
-		var devices = UsbConnectionFactory.attachedKnxUsbDevices();
-		if (devices.isEmpty())
-			System.out.println("none found");
-		else
-			devices.forEach(System.out::println);
+		// The registry enumerates the devices once and caches them; it also notifies about devices attached or
+		// detached later, see UsbDeviceRegistry.main
+		try (var registry = new UsbDeviceRegistry(UsbDeviceRegistry.Backend.system(), Duration.ofSeconds(5))) {
+			final var devices = registry.devices();
+			if (devices.isEmpty())
+				System.out.println("none found");
+			else
+				devices.forEach(System.out::println);
+		}
+		catch (final InterruptedException e) {
+			System.out.println("USB device enumeration interrupted");
+		}
 	}
 }
@@ -0,0 +1,294 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import io.calimero.IndividualAddress;
+import io.calimero.KNXFormatException;
+import io.calimero.knxnetip.Discoverer;
+import io.calimero.knxnetip.Discoverer.Result;
+import io.calimero.knxnetip.servicetype.SearchResponse;
+import io.calimero.knxnetip.util.DeviceDIB;
+import io.calimero.knxnetip.util.ServiceFamiliesDIB;
+import io.calimero.knxnetip.util.ServiceFamiliesDIB.ServiceFamily;
+import io.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Cache of KNXnet/IP discovery results, persisted to a local file. Tools which need the KNXnet/IP servers of the
+ * network get the cached servers immediately, instead of waiting for the search timeout of a discovery on every start.
+ * <p>
+ * Cached servers are valid for a time to live since they last responded. Every {@link #servers()} call returns the
+ * valid cached servers and revalidates them in the background, using a unicast description request to the control
+ * endpoint of every cached server: a server which responds is valid for another time to live, a server which does not
+ * respond expires. Only if no cached server is valid, {@link #servers()} runs a discovery (and waits for it).
+ * <p>
+ * Run this class to list the KNXnet/IP servers, using the cache file {@code knxnetip-servers.cache}.
+ */
+public final class DiscoveryCache implements AutoCloseable {
+	private static final String header = "# KNXnet/IP discovery cache v2";
+	private static final Duration timeout = Duration.ofSeconds(3);
+
+	/**
+	 * A cached KNXnet/IP server.
+	 *
+	 * @param controlEndpoint control endpoint of the server
+	 * @param networkInterface name of the local network interface the server responded on
+	 * @param name device name
+	 * @param address KNX individual address of the server
+	 * @param medium KNX medium code of the server, see {@link KNXMediumSettings}
+	 * @param services supported service families with their highest supported version
+	 * @param lastSeen time the server last responded
+	 */
+	public record Server(InetSocketAddress controlEndpoint, String networkInterface, String name,
+			IndividualAddress address, int medium, Map<ServiceFamily, Integer> services, Instant lastSeen) {
+
+		public Server {
+			services = Map.copyOf(services);
+		}
+
+		@Override
+		public String toString() {
+			final String families = services.entrySet().stream().sorted(Map.Entry.comparingByKey())
+					.map(e -> e.getKey() + " v" + e.getValue()).collect(Collectors.joining(", "));
+			return controlEndpoint.getHostString() + ":" + controlEndpoint.getPort() + " (" + networkInterface + ") '"
+					+ name + "' " + address + " " + KNXMediumSettings.getMediumString(medium) + ", " + families
+					+ ", last seen " + lastSeen;
+		}
+	}
+
+	private final Path file;
+	private final Duration timeToLive;
+	private final boolean nat;
+	private final Map<InetSocketAddress, Server> servers = new ConcurrentHashMap<>();
+	private final AtomicReference<CompletableFuture<Void>> revalidation = new AtomicReference<>();
+
+	public static void main(final String[] args) throws InterruptedException {
+		final long start = System.nanoTime();
+		try (var cache = new DiscoveryCache(Path.of("knxnetip-servers.cache"), Duration.ofHours(1), false)) {
+			final var servers = cache.servers();
+			servers.forEach(System.out::println);
+			System.out.println("Found " + servers.size() + " KNXnet/IP servers in "
+					+ Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms");
+		}
+	}
+
+	/**
+	 * Creates a discovery cache, loading the cached servers of {@code file}.
+	 *
+	 * @param file cache file
+	 * @param timeToLive time a server stays cached after it last responded
+	 * @param useNat use NAT-aware discovery and description requests
+	 */
+	public DiscoveryCache(final Path file, final Duration timeToLive, final boolean useNat) {
+		this.file = file;
+		this.timeToLive = timeToLive;
+		nat = useNat;
+		try {
+			load();
+		}
+		catch (IOException | RuntimeException e) {
+			System.err.println("Ignoring discovery cache " + file + ": " + e);
+		}
+	}
+
+	/**
+	 * Returns the valid cached servers, and starts revalidating them in the background. If no cached server is valid,
+	 * runs a discovery and returns the discovered servers.
+	 *
+	 * @return KNXnet/IP servers, ordered by control endpoint
+	 * @throws InterruptedException on interrupt while waiting for a discovery
+	 */
+	public List<Server> servers() throws InterruptedException {
+		final var valid = valid();
+		if (!valid.isEmpty()) {
+			revalidate();
+			return valid;
+		}
+		try {
+			discover().get();
+		}
+		catch (final ExecutionException e) {
+			System.err.println("Error during KNXnet/IP discovery: " + e.getCause());
+		}
+		return valid();
+	}
+
+	/**
+	 * Runs a discovery, and updates the cache with all servers which responded.
+	 *
+	 * @return future completing after the discovery
+	 */
+	public CompletableFuture<Void> discover() {
+		return StreamingDiscoverer.udp(nat).timeout(timeout).search(this::update).thenRun(this::trySave);
+	}
+
+	/**
+	 * Revalidates the cached servers using description requests, unless a revalidation is in progress.
+	 *
+	 * @return future completing after the revalidation
+	 */
+	public CompletableFuture<Void> revalidate() {
+		final var started = new CompletableFuture<Void>();
+		final var current = revalidation.compareAndExchange(null, started);
+		if (current != null)
+			return current;
+
+		final var discoverer = Discoverer.udp(nat).timeout(timeout);
+		final var descriptions = servers.values().stream().map(server -> discoverer
+				.description(server.controlEndpoint())
+				.thenAccept(r -> update(server, r.response().getDevice(), r.response().getServiceFamilies()))
+				.exceptionally(e -> null)).toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(descriptions).thenRun(this::trySave).whenComplete((v, e) -> {
+			revalidation.set(null);
+			started.complete(null);
+		});
+		return started;
+	}
+
+	/**
+	 * Waits for a revalidation in progress, and saves the cache.
+	 */
+	@Override
+	public void close() {
+		final var current = revalidation.get();
+		if (current != null)
+			current.join();
+		trySave();
+	}
+
+	@Override
+	public String toString() {
+		return "discovery cache " + file + " (" + servers.size() + " servers, time to live " + timeToLive + ")";
+	}
+
+	private List<Server> valid() {
+		final var expired = Instant.now().minus(timeToLive);
+		servers.values().removeIf(server -> server.lastSeen().isBefore(expired));
+		return servers.values().stream()
+				.sorted(Comparator.comparing((Server s) -> s.controlEndpoint().toString())).toList();
+	}
+
+	private void update(final Result<SearchResponse> result) {
+		final var response = result.response();
+		var endpoint = response.getControlEndpoint().endpoint();
+		// a NAT-aware server responds with the unspecified address, use the sender address
+		if (endpoint.getAddress() == null || endpoint.getAddress().isAnyLocalAddress())
+			endpoint = result.remoteEndpoint();
+		servers.put(endpoint, server(endpoint, result.networkInterface().getName(), response.getDevice(),
+				response.getServiceFamilies()));
+	}
+
+	private void update(final Server cached, final DeviceDIB device, final ServiceFamiliesDIB services) {
+		final var endpoint = cached.controlEndpoint();
+		servers.put(endpoint, server(endpoint, cached.networkInterface(), device, services));
+	}
+
+	private static Server server(final InetSocketAddress endpoint, final String networkInterface,
+			final DeviceDIB device, final ServiceFamiliesDIB services) {
+		return new Server(endpoint, networkInterface, device.getName(), device.getAddress(), device.getKNXMedium(),
+				services.families(), Instant.now());
+	}
+
+	// line format: last seen (ms since epoch), host, port, network interface, KNX address, KNX medium code, name,
+	// services (comma-separated family=version pairs)
+	private void load() throws IOException {
+		final List<String> lines;
+		try {
+			lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		}
+		catch (final NoSuchFileException e) {
+			return;
+		}
+		if (lines.isEmpty() || !lines.get(0).equals(header))
+			throw new IOException("not a discovery cache");
+		for (final var line : lines.subList(1, lines.size())) {
+			final String[] fields = line.split("\t", -1);
+			if (fields.length != 8)
+				throw new IOException("invalid entry '" + line + "'");
+			final var endpoint = new InetSocketAddress(fields[1], Integer.parseInt(fields[2]));
+			final IndividualAddress address;
+			try {
+				address = new IndividualAddress(fields[4]);
+			}
+			catch (final KNXFormatException e) {
+				throw new IOException("invalid entry '" + line + "'", e);
+			}
+			final Map<ServiceFamily, Integer> services = new EnumMap<>(ServiceFamily.class);
+			for (final var family : fields[7].split(",")) {
+				if (family.isEmpty())
+					continue;
+				final int sep = family.indexOf('=');
+				final int version = Integer.parseInt(family.substring(sep + 1));
+				services.put(ServiceFamily.valueOf(family.substring(0, sep)), version);
+			}
+			servers.put(endpoint, new Server(endpoint, fields[3], fields[6], address, Integer.parseInt(fields[5]),
+					services, Instant.ofEpochMilli(Long.parseLong(fields[0]))));
+		}
+	}
+
+	private synchronized void save() throws IOException {
+		final List<String> lines = new ArrayList<>();
+		lines.add(header);
+		for (final var server : servers.values()) {
+			final var endpoint = server.controlEndpoint();
+			lines.add(String.join("\t", String.valueOf(server.lastSeen().toEpochMilli()), endpoint.getHostString(),
+					String.valueOf(endpoint.getPort()), field(server.networkInterface()), server.address().toString(),
+					String.valueOf(server.medium()), field(server.name()), services(server.services())));
+		}
+		final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(tmp, lines, StandardCharsets.UTF_8);
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void trySave() {
+		try {
+			save();
+		}
+		catch (IOException | RuntimeException e) {
+			System.err.println("Error saving discovery cache " + file + ": " + e);
+		}
+	}
+
+	private static String field(final String s) {
+		return s == null ? "" : s.replaceAll("[\t\r\n]", " ");
+	}
+
+	private static String services(final Map<ServiceFamily, Integer> services) {
+		return services.entrySet().stream().map(e -> e.getKey().name() + "=" + e.getValue())
+				.collect(Collectors.joining(","));
+	}
+}
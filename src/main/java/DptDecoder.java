@@ -0,0 +1,173 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.calimero.KNXException;
+import io.calimero.KNXFormatException;
+import io.calimero.dptxlator.DPTXlator;
+import io.calimero.dptxlator.TranslatorTypes;
+import io.calimero.dptxlator.TranslatorTypes.MainType;
+
+/**
+ * Thread-safe decoding facade for high-rate DPT translation. In contrast to calling
+ * {@link TranslatorTypes#createTranslator(String, byte...)} per value (see {@link DptTranslation}), which looks up the
+ * DPT main type and reflectively constructs a new translator every time, the decoder
+ * <ul>
+ * <li>resolves the translator factory (the DPT main type) once per DPT ID, shared by all threads,</li>
+ * <li>decodes the numeric value of the common DPT main types 1 (boolean), 9 (2-byte float), and 14 (4-byte float)
+ * directly from the ASDU, without translator and without allocation, and</li>
+ * <li>otherwise keeps one translator instance per DPT ID and thread, because translators are not thread-safe.</li>
+ * </ul>
+ * Decoding using a translator does allocate: a translator copies the value into its own buffer, and values of variable
+ * length (DPT main types 16, 24, and 28) are copied before. Note that with virtual threads, every virtual thread gets
+ * its own translator instances, so reuse is highest with long-lived (platform) threads.
+ */
+public final class DptDecoder {
+	private record Type(MainType factory, int mainNumber) {}
+
+	private final Map<String, Type> types = new ConcurrentHashMap<>();
+	private final ThreadLocal<Map<String, DPTXlator>> translators = ThreadLocal.withInitial(HashMap::new);
+
+	/**
+	 * Decodes the numeric value of a KNX datapoint value.
+	 *
+	 * @param dptId datapoint type ID, e.g., "9.001"
+	 * @param asdu array containing the datapoint value
+	 * @param offset offset of the datapoint value in {@code asdu}
+	 * @param length length of the datapoint value
+	 * @return numeric value
+	 * @throws KNXFormatException if the value is shorter than the DPT size, or has no numeric representation
+	 * @throws KNXException if the DPT is not supported
+	 */
+	public double decodeNumeric(final String dptId, final byte[] asdu, final int offset, final int length)
+		throws KNXException {
+		checkBounds(dptId, asdu, offset, length);
+		final Type type = type(dptId);
+		switch (type.mainNumber()) {
+			case 1 -> {
+				checkSize(dptId, 1, length);
+				return asdu[offset] & 0x01;
+			}
+			case 9 -> {
+				checkSize(dptId, 2, length);
+				final int raw = (asdu[offset] & 0xff) << 8 | asdu[offset + 1] & 0xff;
+				// 0x7fff is the invalid value, the translator decides about it
+				if (raw != 0x7fff) {
+					final int exp = raw >> 11 & 0x0f;
+					final int mantissa = (raw & 0x7ff) - ((raw & 0x8000) != 0 ? 0x800 : 0);
+					return 0.01 * mantissa * (1 << exp);
+				}
+			}
+			case 14 -> {
+				checkSize(dptId, 4, length);
+				return Float.intBitsToFloat((asdu[offset] & 0xff) << 24 | (asdu[offset + 1] & 0xff) << 16
+						| (asdu[offset + 2] & 0xff) << 8 | asdu[offset + 3] & 0xff);
+			}
+			default -> {}
+		}
+		return translator(dptId, type, asdu, offset, length).getNumericValue();
+	}
+
+	/**
+	 * Decodes a KNX datapoint value into its string representation (including the unit, if any).
+	 *
+	 * @param dptId datapoint type ID, e.g., "9.001"
+	 * @param asdu array containing the datapoint value
+	 * @param offset offset of the datapoint value in {@code asdu}
+	 * @param length length of the datapoint value
+	 * @return value as string
+	 * @throws KNXException if the DPT is not supported or the value is shorter than the DPT size
+	 */
+	public String decode(final String dptId, final byte[] asdu, final int offset, final int length)
+		throws KNXException {
+		checkBounds(dptId, asdu, offset, length);
+		return translator(dptId, type(dptId), asdu, offset, length).getValue();
+	}
+
+	/**
+	 * Returns the translator instance of the calling thread for a DPT. The translator must not be shared with other
+	 * threads.
+	 *
+	 * @param dptId datapoint type ID
+	 * @return translator of the calling thread
+	 * @throws KNXException if the DPT is not supported
+	 */
+	public DPTXlator translator(final String dptId) throws KNXException {
+		final var map = translators.get();
+		final DPTXlator t = map.get(dptId);
+		if (t != null)
+			return t;
+		final DPTXlator created = type(dptId).factory().createTranslator(dptId);
+		map.put(dptId, created);
+		return created;
+	}
+
+	private DPTXlator translator(final String dptId, final Type type, final byte[] asdu, final int offset,
+		final int length) throws KNXException {
+		final DPTXlator t = translator(dptId);
+		// DPTs with a size of less than 8 bits have a type size of 0
+		final int size = Math.max(1, t.getTypeSize());
+		final int mainNumber = type.mainNumber();
+		if (mainNumber == 16 || mainNumber == 24 || mainNumber == 28) {
+			// strings: 16.x values can be shorter than 14 bytes (zero-terminated), 24.x and 28.x have variable length
+			final byte[] data = new byte[mainNumber == 16 ? Math.max(size, length) : length];
+			System.arraycopy(asdu, offset, data, 0, length);
+			t.setData(data);
+		}
+		else {
+			checkSize(dptId, size, length);
+			t.setData(asdu, offset);
+		}
+		return t;
+	}
+
+	private static void checkBounds(final String dptId, final byte[] asdu, final int offset, final int length)
+		throws KNXFormatException {
+		if (offset < 0 || length < 0 || offset + length > asdu.length)
+			throw new KNXFormatException("DPT " + dptId + " value exceeds ASDU of " + asdu.length + " bytes");
+	}
+
+	private static void checkSize(final String dptId, final int size, final int length) throws KNXFormatException {
+		if (length < size)
+			throw new KNXFormatException("DPT " + dptId + " value has " + size + " bytes, got " + length);
+	}
+
+	private Type type(final String dptId) throws KNXException {
+		final var cached = types.get(dptId);
+		if (cached != null)
+			return cached;
+		final int sep = dptId.indexOf('.');
+		final int mainNumber;
+		try {
+			mainNumber = Integer.parseInt(sep > 0 ? dptId.substring(0, sep) : dptId);
+		}
+		catch (final NumberFormatException e) {
+			throw new KNXFormatException("invalid DPT ID " + dptId);
+		}
+		final MainType factory = TranslatorTypes.getMainType(mainNumber);
+		if (factory == null)
+			throw new KNXException("DPT " + dptId + " not supported");
+		final var type = new Type(factory, mainNumber);
+		types.put(dptId, type);
+		return type;
+	}
+}
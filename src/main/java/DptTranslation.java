@@ -1,6 +1,6 @@
 /*
     Calimero 3 - A library for KNX network access
-    Copyright (c) 2017, 2025 B. Malinowsky
+    Copyright (c) 2017, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -49,6 +49,12 @@ public class DptTranslation
 
 		// Approach 3: use a datapoint model with a datapoint configuration
 		useDatapointModel(data);
+
+		// Approach 4: decode high-rate data using cached translators
+		useDecoder(data);
+
+		// Approach 5: look up datapoints by the raw destination address of a received frame
+		useRawAddressModel(data);
 	}
 
 	private static void manualTranslation(final byte[] data) throws KNXFormatException
@@ -89,4 +95,28 @@ public class DptTranslation
 			System.out.println("temperature is " + t.getValue() + " (" + t.getNumericValue() + ")");
 		}
 	}
+
+	private static void useDecoder(final byte[] data) throws KNXException
+	{
+		// a decoder is thread-safe and intended to be shared; it decodes common numeric DPTs like this temperature
+		// directly, and otherwise reuses one translator per DPT and thread
+		final var decoder = new DptDecoder();
+		final double temperature = decoder.decodeNumeric(DPT_TEMPERATURE.dptId(), data, 0, data.length);
+		System.out.println("temperature is " + temperature);
+	}
+
+	private static void useRawAddressModel(final byte[] data) throws KNXException
+	{
+		// datapoint model with one slot per group address, suited for large datapoint configurations
+		final var datapoints = new RawAddressDatapointModel<StateDP>();
+		datapoints.add(new StateDP(new GroupAddress("0/0/1"), "my temperature", DPT_TEMPERATURE.dptId()));
+
+		// raw group destination address, e.g., as received in a frame
+		final int destination = 0x0001;
+		final var dp = datapoints.get(destination);
+		if (dp != null) {
+			final double temperature = new DptDecoder().decodeNumeric(dp.dptId(), data, 0, data.length);
+			System.out.println(dp.getName() + " is " + temperature);
+		}
+	}
 }
@@ -0,0 +1,341 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.NetworkChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal local stand-in of a KNXnet/IP server for tunneling over stream connections (TCP or Unix domain sockets) or
+ * UDP, to test and benchmark clients without KNX installation. The server accepts tunneling connections, answers
+ * connection state and disconnect requests, and confirms every L-Data request with a positive L-Data confirmation after
+ * a simulated bus delay. Frames of a connection are confirmed in order, one after the other, like on a KNX line; no
+ * frames are sent to a KNX network.
+ * <p>
+ * Stream connections use a {@link BatchingFrameChannel}, so confirmations and responses pending at the same time are
+ * written at once. With UDP, the server acknowledges tunneling requests, but does not repeat its own requests if the
+ * client does not acknowledge them; responses are sent to the socket address the client connected from.
+ * <p>
+ * Run this class to start a server on the loopback address (or a Unix domain socket, with the socket path as
+ * argument), e.g., for {@code CreateTunnelingLink} or {@code CreateUnixDomainSocketLink}.
+ */
+public final class LoopbackKnxipServer implements AutoCloseable {
+	private static final int connectRequest = 0x0205;
+	private static final int connectResponse = 0x0206;
+	private static final int connectionStateRequest = 0x0207;
+	private static final int connectionStateResponse = 0x0208;
+	private static final int disconnectRequest = 0x0209;
+	private static final int disconnectResponse = 0x020a;
+	private static final int tunnelingRequest = 0x0420;
+	private static final int tunnelingAck = 0x0421;
+	private static final int tunnelingFeatureGet = 0x0422;
+	private static final int tunnelingFeatureResponse = 0x0423;
+	private static final int tunnelingFeatureSet = 0x0424;
+
+	private static final int headerSize = 6;
+	private static final int readBufferSize = 0x10000;
+	private static final int ldataReq = 0x11;
+	private static final int ldataCon = 0x2e;
+	// channel ID of the tunnel of a stream connection, and individual address (1.1.255) of every tunnel
+	private static final int streamChannelId = 1;
+	private static final int tunnelAddress = 0x11ff;
+	// connect response status if all channel IDs are in use
+	private static final int noMoreConnections = 0x24;
+
+	// sends a KNXnet/IP frame to the client of a tunnel
+	@FunctionalInterface
+	private interface Sender {
+		void send(int serviceType, byte[] body) throws IOException;
+	}
+
+	private final NetworkChannel server;
+	private final Duration busDelay;
+	private final List<BatchingFrameChannel> connections = new CopyOnWriteArrayList<>();
+	private final Map<Integer, Tunnel> udpTunnels = new ConcurrentHashMap<>();
+	private final AtomicInteger udpChannelIds = new AtomicInteger();
+	private final AtomicLong confirmed = new AtomicLong();
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final SocketAddress address = args.length > 0 ? UnixDomainSocketAddress.of(args[0])
+				: new InetSocketAddress(InetAddress.getLoopbackAddress(), 3671);
+		try (var server = new LoopbackKnxipServer(address, Duration.ofMillis(20))) {
+			System.out.println("KNXnet/IP loopback server listening on " + server.localAddress());
+			while (true) {
+				Thread.sleep(Duration.ofMinutes(1));
+				System.out.println(server);
+			}
+		}
+	}
+
+	/**
+	 * Starts a server for stream connections.
+	 *
+	 * @param bindAddress TCP socket address, or Unix domain socket address
+	 * @param busDelay simulated bus transmission time of a frame before it is confirmed, e.g., 20 ms on TP1
+	 * @throws IOException on error opening the server socket
+	 */
+	public LoopbackKnxipServer(final SocketAddress bindAddress, final Duration busDelay) throws IOException {
+		this(ServerSocketChannel.open(family(bindAddress)).bind(bindAddress), busDelay);
+	}
+
+	/**
+	 * Starts a server for tunneling over UDP.
+	 *
+	 * @param bindAddress UDP socket address
+	 * @param busDelay simulated bus transmission time of a frame before it is confirmed
+	 * @return the server
+	 * @throws IOException on error opening the socket
+	 */
+	public static LoopbackKnxipServer newUdpServer(final InetSocketAddress bindAddress, final Duration busDelay)
+		throws IOException {
+		return new LoopbackKnxipServer(DatagramChannel.open(family(bindAddress)).bind(bindAddress), busDelay);
+	}
+
+	private LoopbackKnxipServer(final NetworkChannel server, final Duration busDelay) {
+		this.server = server;
+		this.busDelay = busDelay;
+		Thread.ofPlatform().daemon().name("KNXnet/IP loopback server")
+				.start(server instanceof DatagramChannel ? this::receiveDatagrams : this::accept);
+	}
+
+	/**
+	 * {@return the local address of the server socket}
+	 *
+	 * @throws IOException on I/O error
+	 */
+	public SocketAddress localAddress() throws IOException { return server.getLocalAddress(); }
+
+	/**
+	 * {@return the number of confirmed L-Data requests}
+	 */
+	public long confirmed() { return confirmed.get(); }
+
+	@Override
+	public void close() {
+		try {
+			final var address = server.getLocalAddress();
+			server.close();
+			connections.forEach(BatchingFrameChannel::close);
+			udpTunnels.values().forEach(Tunnel::close);
+			if (address instanceof final UnixDomainSocketAddress uds)
+				Files.deleteIfExists(uds.getPath());
+		}
+		catch (final IOException e) {
+			System.err.println(this + ": " + e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "KNXnet/IP loopback server (" + (connections.size() + udpTunnels.size()) + " connections, " + confirmed
+				+ " confirmed)";
+	}
+
+	private static StandardProtocolFamily family(final SocketAddress address) {
+		return address instanceof UnixDomainSocketAddress ? StandardProtocolFamily.UNIX
+				: ((InetSocketAddress) address).getAddress() instanceof Inet6Address ? StandardProtocolFamily.INET6
+						: StandardProtocolFamily.INET;
+	}
+
+	private void accept() {
+		try {
+			while (true) {
+				final var connection = ((ServerSocketChannel) server).accept();
+				Thread.ofVirtual().name("KNXnet/IP loopback connection").start(() -> serve(connection));
+			}
+		}
+		catch (final IOException e) {
+			// server socket closed
+		}
+	}
+
+	// a stream connection carries one tunnel
+	private void serve(final SocketChannel connection) {
+		final var frames = new BatchingFrameChannel(connection, readBufferSize);
+		connections.add(frames);
+		final var tunnel = new Tunnel(streamChannelId, frames::send, false);
+		try (frames) {
+			while (tunnel.open && frames.receive((svc, buffer, offset, length) -> handle(tunnel, svc, buffer, offset,
+					length)) >= 0) {}
+		}
+		catch (final IOException e) {
+			// connection closed
+		}
+		finally {
+			tunnel.close();
+			connections.remove(frames);
+		}
+	}
+
+	private void receiveDatagrams() {
+		final var channel = (DatagramChannel) server;
+		final var buffer = ByteBuffer.allocateDirect(readBufferSize);
+		try {
+			while (true) {
+				final var client = channel.receive(buffer.clear());
+				buffer.flip();
+				if (buffer.limit() < headerSize + 2 || buffer.get(0) != headerSize)
+					continue;
+				final int svc = buffer.getShort(2) & 0xffff;
+				final int length = Math.min(buffer.getShort(4) & 0xffff, buffer.limit()) - headerSize;
+				if (svc == connectRequest) {
+					connect(channel, client);
+					continue;
+				}
+				// the channel ID follows the structure length of the connection header in tunneling services
+				final boolean connectionHeader = svc == tunnelingRequest || svc == tunnelingAck
+						|| svc == tunnelingFeatureGet || svc == tunnelingFeatureSet;
+				final var tunnel = udpTunnels.get(buffer.get(headerSize + (connectionHeader ? 1 : 0)) & 0xff);
+				if (tunnel == null)
+					continue;
+				handle(tunnel, svc, buffer, headerSize, length);
+				if (!tunnel.open) {
+					udpTunnels.remove(tunnel.channelId);
+					tunnel.close();
+				}
+			}
+		}
+		catch (final IOException e) {
+			// socket closed
+		}
+	}
+
+	private void connect(final DatagramChannel channel, final SocketAddress client) throws IOException {
+		final Sender sender = (svc, body) -> channel.send(BatchingFrameChannel.frame(svc, body), client);
+		final int channelId = freeChannelId();
+		if (channelId == 0) {
+			sender.send(connectResponse, new byte[] { 0, noMoreConnections });
+			return;
+		}
+		udpTunnels.put(channelId, new Tunnel(channelId, sender, true));
+		final var local = (InetSocketAddress) channel.getLocalAddress();
+		// status, data endpoint (this socket), CRD with assigned individual address
+		final var response = ByteBuffer.allocate(14).put((byte) channelId).put((byte) 0).put((byte) 8).put((byte) 1)
+				.put(local.getAddress().getAddress()).putShort((short) local.getPort()).put((byte) 4).put((byte) 4)
+				.putShort((short) tunnelAddress).array();
+		sender.send(connectResponse, response);
+	}
+
+	// returns the next channel ID (1 to 255) not in use, or 0 if all IDs are in use; only called by the UDP receiver
+	private int freeChannelId() {
+		for (int i = 0; i < 0xff; i++) {
+			final int channelId = Math.floorMod(udpChannelIds.getAndIncrement(), 0xff) + 1;
+			if (!udpTunnels.containsKey(channelId))
+				return channelId;
+		}
+		return 0;
+	}
+
+	// handles a request of a tunnel client; on disconnect, the tunnel is marked as closed
+	private static void handle(final Tunnel tunnel, final int svc, final ByteBuffer buffer, final int offset,
+		final int length) throws IOException {
+		switch (svc) {
+			// status, data endpoint (route back), CRD with assigned individual address
+			case connectRequest -> tunnel.sender.send(connectResponse, new byte[] { streamChannelId, 0, 8, 2, 0, 0,
+				0, 0, 0, 0, 4, 4, (byte) (tunnelAddress >> 8), (byte) tunnelAddress });
+			case connectionStateRequest -> tunnel.sender.send(connectionStateResponse,
+					new byte[] { buffer.get(offset), 0 });
+			case disconnectRequest -> {
+				tunnel.sender.send(disconnectResponse, new byte[] { buffer.get(offset), 0 });
+				tunnel.open = false;
+			}
+			case tunnelingRequest -> {
+				final int header = buffer.get(offset) & 0xff;
+				if (tunnel.acks)
+					tunnel.sender.send(tunnelingAck,
+							new byte[] { 4, (byte) tunnel.channelId, buffer.get(offset + 2), 0 });
+				if (length > header && (buffer.get(offset + header) & 0xff) == ldataReq) {
+					final byte[] cemi = new byte[length - header];
+					buffer.get(offset + header, cemi);
+					tunnel.bus.add(cemi);
+				}
+			}
+			case tunnelingFeatureGet, tunnelingFeatureSet -> {
+				// respond with return code "success" and a feature value of 0
+				final var response = new byte[] { 4, buffer.get(offset + 1), buffer.get(offset + 2), 0,
+					buffer.get(offset + 4), 0, 0 };
+				tunnel.sender.send(tunnelingFeatureResponse, response);
+			}
+			// the server does not repeat confirmations, acks are not tracked
+			default -> {}
+		}
+	}
+
+	// a tunnel, with a simulated KNX bus confirming the frames of the tunnel in order
+	private final class Tunnel {
+		final int channelId;
+		final Sender sender;
+		final boolean acks;
+		final BlockingQueue<byte[]> bus = new LinkedBlockingQueue<>();
+		final Thread busThread;
+		volatile boolean open = true;
+
+		Tunnel(final int channelId, final Sender sender, final boolean acks) {
+			this.channelId = channelId;
+			this.sender = sender;
+			this.acks = acks;
+			busThread = Thread.ofVirtual().name("KNXnet/IP loopback bus").start(this::confirm);
+		}
+
+		void close() {
+			open = false;
+			busThread.interrupt();
+		}
+
+		private void confirm() {
+			int seq = 0;
+			try {
+				while (true) {
+					final byte[] cemi = bus.take();
+					if (busDelay.isPositive())
+						Thread.sleep(busDelay);
+					cemi[0] = (byte) ldataCon;
+					// clear the confirm flag in control field 1 (after message code and additional info)
+					cemi[2 + (cemi[1] & 0xff)] &= ~0x01;
+					final var con = ByteBuffer.allocate(4 + cemi.length).put((byte) 4).put((byte) channelId)
+							.put((byte) seq++).put((byte) 0).put(cemi).array();
+					sender.send(tunnelingRequest, con);
+					confirmed.incrementAndGet();
+				}
+			}
+			catch (IOException | InterruptedException e) {
+				// connection closed
+			}
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.calimero.process.ProcessEvent;
+
+/**
+ * Output for group monitoring at high telegram rates. A group notification is formatted into a reusable per-thread
+ * line buffer, without string concatenation or creating {@code HexFormat} and {@code LocalTime} instances, and
+ * appended to a single direct byte buffer. That buffer is written to the output channel in batches, either when it is
+ * full or by a background flusher after the flush interval elapsed. Hence, in steady state the allocation per group
+ * notification is near zero, and there is no write system call per notification.
+ * <p>
+ * Lines have the same format {@link GroupMonitor} prints, with the local time in millisecond precision:
+ * {@code hh:mm:ss.SSS source->destination service: ASDU}.
+ * <p>
+ * The output channel is not closed when closing this output, it remains owned by the caller. A monitor output can
+ * be used as sink of a {@link MonitorPipeline}.
+ */
+public final class MonitorOutput implements MonitorPipeline.Sink {
+	// KNX application layer services of group notifications
+	static final int groupRead = 0x00;
+	static final int groupResponse = 0x40;
+	static final int groupWrite = 0x80;
+
+	// time, addresses, and service take at most 45 chars, plus two hex digits per ASDU byte
+	private static final int maxLineLength = 48 + 2 * 255;
+
+	private static final byte[] hexDigits = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] writeInd = " write.ind: ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] readReq = " read.req: ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] readRes = " read.res: ".getBytes(StandardCharsets.US_ASCII);
+
+	private static final ThreadLocal<LineBuffer> lineBuffer = ThreadLocal.withInitial(LineBuffer::new);
+
+	private static final long originEpochNanos;
+	private static final long originNanoTime;
+
+	static {
+		final Instant now = Instant.now();
+		originNanoTime = System.nanoTime();
+		originEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+	}
+
+	private final WritableByteChannel out;
+	private final ByteBuffer buffer;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Thread flusher;
+	private volatile boolean closed;
+
+	/**
+	 * Returns a monitor output writing to the standard output stream, using a 64 KiB buffer which is flushed at least
+	 * every 100 milliseconds.
+	 *
+	 * @return new monitor output
+	 */
+	public static MonitorOutput stdout() {
+		return new MonitorOutput(new FileOutputStream(FileDescriptor.out).getChannel(), 64 * 1024,
+				Duration.ofMillis(100));
+	}
+
+	/**
+	 * Returns the current time in nanoseconds since the epoch. The time is derived from {@link System#nanoTime()},
+	 * i.e., it does not allocate an {@code Instant}, and it is not affected by later adjustments of the system clock.
+	 *
+	 * @return nanoseconds since 1970-01-01T00:00Z
+	 */
+	public static long epochNanos() { return originEpochNanos + System.nanoTime() - originNanoTime; }
+
+	/**
+	 * Creates a new monitor output.
+	 *
+	 * @param out the channel to write formatted group notifications to
+	 * @param bufferSize size of the output buffer in bytes, has to fit at least one line with the maximum ASDU length
+	 * @param flushInterval maximum time a line stays in the buffer before it is written to the output channel
+	 */
+	public MonitorOutput(final WritableByteChannel out, final int bufferSize, final Duration flushInterval) {
+		if (bufferSize < maxLineLength)
+			throw new IllegalArgumentException("buffer size " + bufferSize + " < " + maxLineLength);
+		this.out = out;
+		buffer = ByteBuffer.allocateDirect(bufferSize);
+		final long interval = flushInterval.toNanos();
+		flusher = Thread.ofPlatform().daemon().name("Monitor output flusher").start(() -> flushPeriodically(interval));
+	}
+
+	/**
+	 * Writes the group notification of a process event, using the current time as timestamp.
+	 *
+	 * @param e process event
+	 */
+	public void write(final ProcessEvent e) {
+		final byte[] asdu = e.getASDU();
+		write(epochNanos(), e.getServiceCode(), e.getSourceAddr().getRawAddress(), e.getDestination().getRawAddress(),
+				asdu, 0, asdu.length);
+	}
+
+	/**
+	 * Writes a group notification.
+	 *
+	 * @param epochNanos timestamp of the group notification in nanoseconds since the epoch
+	 * @param svc application layer service code, one of group read (0x00), group response (0x40), or group write (0x80)
+	 * @param src raw KNX source address
+	 * @param dst raw KNX group destination address
+	 * @param asdu array containing the ASDU
+	 * @param offset start offset of the ASDU in {@code asdu}
+	 * @param length ASDU length
+	 */
+	public void write(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+			final int offset, final int length) {
+		final var line = lineBuffer.get();
+		final int size = line.format(epochNanos, svc, src, dst, asdu, offset, Math.min(length, 255));
+		lock.lock();
+		try {
+			if (buffer.remaining() < size)
+				writeBuffer();
+			buffer.put(line.bytes, 0, size);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes a group notification, the APDU encoding is not part of the output.
+	 *
+	 * @see #write(long, int, int, int, byte[], int, int)
+	 */
+	@Override
+	public void write(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+			final int offset, final int length, final boolean lengthOptimizedApdu) {
+		write(epochNanos, svc, src, dst, asdu, offset, length);
+	}
+
+	/**
+	 * Writes all buffered lines to the output channel.
+	 */
+	@Override
+	public void flush() {
+		lock.lock();
+		try {
+			writeBuffer();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the background flusher and writes all buffered lines to the output channel.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		flusher.interrupt();
+		flush();
+	}
+
+	private void flushPeriodically(final long intervalNanos) {
+		try {
+			while (!closed) {
+				Thread.sleep(Duration.ofNanos(intervalNanos));
+				flush();
+			}
+		}
+		catch (final InterruptedException e) {}
+		catch (final UncheckedIOException e) {
+			System.err.println("monitor output: " + e.getCause());
+		}
+	}
+
+	// lock is held
+	private void writeBuffer() {
+		if (buffer.position() == 0)
+			return;
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining())
+				out.write(buffer);
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			buffer.clear();
+		}
+	}
+
+	// Per-thread line buffer, formats US-ASCII directly into a byte array
+	private static final class LineBuffer {
+		final byte[] bytes = new byte[maxLineLength];
+
+		private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+		private long offsetValidFrom = Long.MAX_VALUE;
+		private long offsetValidUntil = Long.MIN_VALUE;
+		private int offsetSeconds;
+
+		int format(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+				final int offset, final int length) {
+			final long epochSecond = Math.floorDiv(epochNanos, 1_000_000_000L);
+			if (epochSecond < offsetValidFrom || epochSecond >= offsetValidUntil)
+				updateZoneOffset(epochSecond);
+			final int secondOfDay = (int) Math.floorMod(epochSecond + offsetSeconds, 86_400L);
+			final int millis = (int) (Math.floorMod(epochNanos, 1_000_000_000L) / 1_000_000);
+
+			int i = 0;
+			i = twoDigits(secondOfDay / 3600, i);
+			bytes[i++] = ':';
+			i = twoDigits(secondOfDay / 60 % 60, i);
+			bytes[i++] = ':';
+			i = twoDigits(secondOfDay % 60, i);
+			bytes[i++] = '.';
+			bytes[i++] = (byte) ('0' + millis / 100);
+			i = twoDigits(millis % 100, i);
+			bytes[i++] = ' ';
+
+			// individual address area.line.device
+			i = decimal((src >>> 12) & 0x0f, i);
+			bytes[i++] = '.';
+			i = decimal((src >>> 8) & 0x0f, i);
+			bytes[i++] = '.';
+			i = decimal(src & 0xff, i);
+			bytes[i++] = '-';
+			bytes[i++] = '>';
+			// 3-level group address main/middle/sub
+			i = decimal((dst >>> 11) & 0x1f, i);
+			bytes[i++] = '/';
+			i = decimal((dst >>> 8) & 0x07, i);
+			bytes[i++] = '/';
+			i = decimal(dst & 0xff, i);
+
+			final byte[] service = svc == groupWrite ? writeInd : svc == groupRead ? readReq : readRes;
+			System.arraycopy(service, 0, bytes, i, service.length);
+			i += service.length;
+
+			for (int k = offset; k < offset + length; k++) {
+				bytes[i++] = hexDigits[(asdu[k] >>> 4) & 0x0f];
+				bytes[i++] = hexDigits[asdu[k] & 0x0f];
+			}
+			bytes[i++] = '\n';
+			return i;
+		}
+
+		private void updateZoneOffset(final long epochSecond) {
+			final var instant = Instant.ofEpochSecond(epochSecond);
+			offsetSeconds = zoneRules.getOffset(instant).getTotalSeconds();
+			final var next = zoneRules.nextTransition(instant);
+			offsetValidFrom = epochSecond;
+			offsetValidUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+		}
+
+		private int twoDigits(final int value, final int at) {
+			bytes[at] = (byte) ('0' + value / 10);
+			bytes[at + 1] = (byte) ('0' + value % 10);
+			return at + 2;
+		}
+
+		private int decimal(final int value, int at) {
+			if (value >= 100)
+				bytes[at++] = (byte) ('0' + value / 100);
+			if (value >= 10)
+				bytes[at++] = (byte) ('0' + value / 10 % 10);
+			bytes[at++] = (byte) ('0' + value % 10);
+			return at;
+		}
+	}
+}
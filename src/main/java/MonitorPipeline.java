@@ -0,0 +1,303 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.calimero.DetachEvent;
+import io.calimero.process.ProcessEvent;
+import io.calimero.process.ProcessListener;
+
+/**
+ * Monitor pipeline stage which decouples process listener callbacks from a (possibly slow) output sink. The callback
+ * only copies the group notification into a preallocated slot of a bounded, lock-free ring buffer; a dedicated consumer
+ * thread drains the ring buffer into the sink. Hence, a slow terminal or pipe does not block the receiver thread of the
+ * network link, which would otherwise delay KNXnet/IP tunneling acknowledgments.
+ * <p>
+ * If the ring buffer is full, the {@link Overflow} policy decides whether the oldest or the newest notification is
+ * dropped, or whether the callback blocks until there is space available. Dropped notifications are counted.
+ * <p>
+ * The ring buffer is a bounded multi-producer queue using per-slot sequence numbers, so it can be fed by several
+ * network links.
+ */
+public final class MonitorPipeline implements ProcessListener, AutoCloseable {
+	/** Policy applied when a group notification is submitted to a full ring buffer. */
+	public enum Overflow {
+		/** Drop the oldest buffered notification to make room for the new one. */
+		DropOldest,
+		/** Drop the new notification. */
+		DropNewest,
+		/** Block the submitting thread until there is room in the ring buffer. */
+		Block
+	}
+
+	/**
+	 * Receives group notifications drained from the ring buffer, always on the pipeline's consumer thread. A sink is
+	 * owned by the creator of the pipeline, i.e., the pipeline never closes its sink.
+	 */
+	@FunctionalInterface
+	public interface Sink extends AutoCloseable {
+		/**
+		 * Writes a group notification. The ASDU array is only valid during this call.
+		 *
+		 * @param epochNanos timestamp of the group notification in nanoseconds since the epoch
+		 * @param svc application layer service code: group read (0x00), group response (0x40), or group write (0x80)
+		 * @param src raw KNX source address
+		 * @param dst raw KNX group destination address
+		 * @param asdu array containing the ASDU
+		 * @param offset start offset of the ASDU in {@code asdu}
+		 * @param length ASDU length
+		 * @param lengthOptimizedApdu {@code true} if the ASDU was contained in the APCI (length-optimized APDU), for
+		 *        sinks which record telegrams
+		 */
+		void write(long epochNanos, int svc, int src, int dst, byte[] asdu, int offset, int length,
+				boolean lengthOptimizedApdu);
+
+		/** Flushes any buffered output, called when the pipeline is closed. */
+		default void flush() {}
+
+		@Override
+		default void close() {}
+	}
+
+	// maximum ASDU length of an extended frame is 254 bytes
+	private static final int slotSize = 256;
+	// marks a length-optimized APDU in the service code of a slot
+	private static final int lengthOptimized = 0x10000;
+
+	private final Sink sink;
+	private final Overflow overflow;
+	private final int capacity;
+	private final int mask;
+
+	// ring buffer slots
+	private final AtomicLongArray sequence;
+	private final long[] timestamps;
+	private final int[] services;
+	private final int[] sources;
+	private final int[] destinations;
+	private final int[] lengths;
+	private final byte[] asdus;
+
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong maxDepth = new AtomicLong();
+
+	private final Thread consumer;
+	private volatile boolean consumerParked;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new monitor pipeline and starts its consumer thread.
+	 *
+	 * @param sink output sink, only accessed by the consumer thread
+	 * @param capacity ring buffer capacity in group notifications, rounded up to the next power of 2
+	 * @param overflow policy for submitting a group notification to a full ring buffer
+	 */
+	public MonitorPipeline(final Sink sink, final int capacity, final Overflow overflow) {
+		if (capacity < 1 || capacity > 1 << 20)
+			throw new IllegalArgumentException("capacity " + capacity + " not in [1, 2^20]");
+		this.sink = sink;
+		this.overflow = overflow;
+		this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		mask = this.capacity - 1;
+
+		sequence = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++)
+			sequence.set(i, i);
+		timestamps = new long[this.capacity];
+		services = new int[this.capacity];
+		sources = new int[this.capacity];
+		destinations = new int[this.capacity];
+		lengths = new int[this.capacity];
+		asdus = new byte[this.capacity * slotSize];
+
+		consumer = Thread.ofPlatform().daemon().name("Monitor pipeline").start(this::drain);
+	}
+
+	@Override
+	public void groupWrite(final ProcessEvent e) { submit(e); }
+
+	@Override
+	public void groupReadRequest(final ProcessEvent e) { submit(e); }
+
+	@Override
+	public void groupReadResponse(final ProcessEvent e) { submit(e); }
+
+	@Override
+	public void detached(final DetachEvent e) {}
+
+	/**
+	 * Submits a group notification, see {@link Sink#write(long, int, int, int, byte[], int, int, boolean)} for the
+	 * parameters.
+	 *
+	 * @return {@code true} if the notification was added to the ring buffer, {@code false} if it was dropped because
+	 *         of policy {@link Overflow#DropNewest}, or because this pipeline is closed
+	 */
+	public boolean submit(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+			final int offset, final int length, final boolean lengthOptimizedApdu) {
+		final int service = lengthOptimizedApdu ? svc | lengthOptimized : svc;
+		while (!closed) {
+			if (offer(epochNanos, service, src, dst, asdu, offset, length)) {
+				final long depth = depth();
+				if (depth > maxDepth.getPlain())
+					maxDepth.accumulateAndGet(depth, Math::max);
+				if (consumerParked)
+					LockSupport.unpark(consumer);
+				return true;
+			}
+			switch (overflow) {
+				case DropNewest -> { dropped.incrementAndGet(); return false; }
+				case DropOldest -> { if (poll(null)) dropped.incrementAndGet(); }
+				case Block -> {
+					LockSupport.unpark(consumer);
+					LockSupport.parkNanos(this, 50_000);
+				}
+			}
+		}
+		dropped.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * {@return the number of group notifications dropped because of a full ring buffer or a closed pipeline}
+	 */
+	public long dropped() { return dropped.get(); }
+
+	/**
+	 * {@return the current number of group notifications in the ring buffer}
+	 */
+	public int depth() { return (int) Math.max(0, tail.get() - head.get()); }
+
+	/**
+	 * {@return the maximum number of group notifications that were in the ring buffer at the same time}
+	 */
+	public int maxDepth() { return (int) maxDepth.get(); }
+
+	/**
+	 * {@return the ring buffer capacity}
+	 */
+	public int capacity() { return capacity; }
+
+	/**
+	 * Closes this pipeline; the consumer thread drains the remaining group notifications into the sink and flushes
+	 * the sink. The sink itself is not closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		LockSupport.unpark(consumer);
+		try {
+			consumer.join();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "monitor pipeline depth " + depth() + "/" + capacity + " (max " + maxDepth() + "), " + dropped()
+				+ " dropped";
+	}
+
+	private void submit(final ProcessEvent e) {
+		final byte[] asdu = e.getASDU();
+		submit(MonitorOutput.epochNanos(), e.getServiceCode(), e.getSourceAddr().getRawAddress(),
+				e.getDestination().getRawAddress(), asdu, 0, asdu.length, e.isLengthOptimizedAPDU());
+	}
+
+	private boolean offer(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+			final int offset, final int length) {
+		long pos = tail.get();
+		while (true) {
+			final int slot = (int) pos & mask;
+			final long diff = sequence.getAcquire(slot) - pos;
+			if (diff == 0) {
+				if (tail.weakCompareAndSetVolatile(pos, pos + 1)) {
+					timestamps[slot] = epochNanos;
+					services[slot] = svc;
+					sources[slot] = src;
+					destinations[slot] = dst;
+					final int n = Math.min(length, slotSize);
+					lengths[slot] = n;
+					System.arraycopy(asdu, offset, asdus, slot * slotSize, n);
+					sequence.setRelease(slot, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			}
+			else if (diff < 0)
+				return false; // full
+			else
+				pos = tail.get();
+		}
+	}
+
+	// passes the oldest notification to the sink, or discards it if sink is null
+	private boolean poll(final Sink to) {
+		long pos = head.get();
+		while (true) {
+			final int slot = (int) pos & mask;
+			final long diff = sequence.getAcquire(slot) - (pos + 1);
+			if (diff == 0) {
+				if (head.weakCompareAndSetVolatile(pos, pos + 1)) {
+					if (to != null) {
+						try {
+							final int svc = services[slot];
+							to.write(timestamps[slot], svc & ~lengthOptimized, sources[slot], destinations[slot], asdus,
+									slot * slotSize, lengths[slot], (svc & lengthOptimized) != 0);
+						}
+						catch (final RuntimeException e) {
+							System.err.println("monitor pipeline sink: " + e);
+						}
+					}
+					sequence.setRelease(slot, pos + capacity);
+					return true;
+				}
+				pos = head.get();
+			}
+			else if (diff < 0)
+				return false; // empty
+			else
+				pos = head.get();
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			if (poll(sink))
+				continue;
+			if (closed)
+				break;
+			// announce parking before the final check for new notifications: a producer publishing after our check
+			// sees the flag and unparks us
+			consumerParked = true;
+			if (depth() == 0 && !closed)
+				LockSupport.park(this);
+			consumerParked = false;
+		}
+		// drain anything submitted while closing
+		while (poll(sink));
+		sink.flush();
+	}
+}
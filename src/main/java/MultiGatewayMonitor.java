@@ -0,0 +1,291 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import io.calimero.CloseEvent;
+import io.calimero.DetachEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.process.ProcessCommunicatorImpl;
+import io.calimero.process.ProcessEvent;
+import io.calimero.process.ProcessListener;
+
+/**
+ * Group monitor for many KNXnet/IP gateways. Every gateway is monitored by its own virtual thread using a tunneling
+ * link, which waits for the link to close (no polling) and then reconnects with exponential backoff. Group
+ * notifications and connection state changes of all gateways are merged into a single stream of {@link Event}s,
+ * tagged with their gateway, and delivered in the order received to one consumer on a dedicated thread. KNX frames
+ * carry no timestamp of their origin, so events of different gateways are ordered by their arrival at the monitor.
+ * <p>
+ * Links are created by a {@link LinkFactory}, e.g., to monitor gateways using other link types, or to run the monitor
+ * against local stand-ins of KNXnet/IP servers in tests.
+ * <p>
+ * Run this class with the gateways as arguments, e.g.,
+ * {@code ./gradlew run -DmainClass=MultiGatewayMonitor --args="192.168.10.10 192.168.11.10:3671"}.
+ */
+public final class MultiGatewayMonitor implements AutoCloseable {
+	/**
+	 * Opens the network link to a gateway.
+	 */
+	@FunctionalInterface
+	public interface LinkFactory {
+		KNXNetworkLink open(InetSocketAddress gateway) throws KNXException, InterruptedException;
+	}
+
+	/**
+	 * An event of a gateway, either a {@link Telegram} or a {@link StateChange}.
+	 */
+	public sealed interface Event {
+		/** {@return the gateway of this event} */
+		InetSocketAddress gateway();
+
+		/** {@return the receive timestamp in nanoseconds since the epoch} */
+		long epochNanos();
+
+		default Instant timestamp() { return Instant.ofEpochSecond(0, epochNanos()); }
+	}
+
+	/**
+	 * A group notification received from a gateway.
+	 *
+	 * @param gateway the gateway which received the notification
+	 * @param epochNanos receive timestamp in nanoseconds since the epoch
+	 * @param source KNX source address
+	 * @param destination KNX group destination address
+	 * @param serviceCode application layer service code, group read (0x00), group response (0x40), or group write
+	 *        (0x80)
+	 * @param asdu ASDU
+	 */
+	public record Telegram(InetSocketAddress gateway, long epochNanos, IndividualAddress source,
+			GroupAddress destination, int serviceCode, byte[] asdu) implements Event {
+
+		@Override
+		public String toString() {
+			final String svc = serviceCode == 0x80 ? "write.ind" : serviceCode == 0x00 ? "read.req" : "read.res";
+			return timestamp() + " " + gateway.getHostString() + " " + source + "->" + destination + " " + svc + ": "
+					+ HexFormat.of().formatHex(asdu);
+		}
+	}
+
+	/**
+	 * A change of the connection state of a gateway.
+	 *
+	 * @param gateway the gateway
+	 * @param epochNanos timestamp in nanoseconds since the epoch
+	 * @param connected {@code true} if the link to the gateway is connected, {@code false} if the link got closed or
+	 *        could not be opened
+	 * @param reason the name of the connected link, or the reason the link got closed or could not be opened
+	 */
+	public record StateChange(InetSocketAddress gateway, long epochNanos, boolean connected, String reason)
+			implements Event {
+
+		@Override
+		public String toString() {
+			return timestamp() + " " + gateway.getHostString() + (connected ? ": connected using " : ": disconnected, ")
+					+ reason;
+		}
+	}
+
+	private static final Duration initialBackoff = Duration.ofSeconds(1);
+	private static final Duration maxBackoff = Duration.ofMinutes(1);
+
+	private final LinkFactory linkFactory;
+	private final Consumer<? super Event> consumer;
+
+	private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+	private final List<Thread> gatewayThreads = new ArrayList<>();
+	private final Thread dispatcher;
+	private volatile boolean closed;
+
+	private final AtomicInteger connected = new AtomicInteger();
+	private final AtomicLong reconnects = new AtomicLong();
+
+	public static void main(final String[] args) throws InterruptedException {
+		if (args.length == 0) {
+			System.out.println("Usage: MultiGatewayMonitor <host[:port]>...");
+			return;
+		}
+		final List<InetSocketAddress> gateways = new ArrayList<>();
+		for (final String arg : args) {
+			final int colon = arg.lastIndexOf(':');
+			gateways.add(colon > 0
+					? new InetSocketAddress(arg.substring(0, colon), Integer.parseInt(arg.substring(colon + 1)))
+					: new InetSocketAddress(arg, 3671));
+		}
+		final var anyLocal = new InetSocketAddress(0);
+		try (var monitor = new MultiGatewayMonitor(gateways,
+				gateway -> KNXNetworkLinkIP.newTunnelingLink(anyLocal, gateway, false, new TPSettings()),
+				System.out::println)) {
+			System.out.println("Monitoring " + gateways.size() + " KNXnet/IP gateways ...");
+			while (true) {
+				Thread.sleep(Duration.ofMinutes(1));
+				System.out.println(monitor);
+			}
+		}
+	}
+
+	/**
+	 * Starts monitoring the supplied gateways.
+	 *
+	 * @param gateways control endpoints of the gateways
+	 * @param linkFactory creates the network link to a gateway
+	 * @param consumer receives the merged events, called from a single thread
+	 */
+	public MultiGatewayMonitor(final List<InetSocketAddress> gateways, final LinkFactory linkFactory,
+			final Consumer<? super Event> consumer) {
+		this.linkFactory = linkFactory;
+		this.consumer = consumer;
+		dispatcher = Thread.ofPlatform().name("Multi-gateway monitor dispatcher").start(this::dispatch);
+		for (final var gateway : gateways)
+			gatewayThreads.add(Thread.ofVirtual().name("monitor " + gateway).start(() -> monitor(gateway)));
+	}
+
+	/**
+	 * {@return the number of gateways currently connected}
+	 */
+	public int connected() { return connected.get(); }
+
+	/**
+	 * Closes all gateway links, and delivers the remaining events before returning.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		gatewayThreads.forEach(Thread::interrupt);
+		try {
+			for (final var t : gatewayThreads)
+				t.join();
+			dispatcher.interrupt();
+			dispatcher.join();
+		}
+		catch (final InterruptedException e) {
+			dispatcher.interrupt();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "multi-gateway monitor " + connected + "/" + gatewayThreads.size() + " connected, " + reconnects
+				+ " reconnects, " + events.size() + " pending events";
+	}
+
+	private void monitor(final InetSocketAddress gateway) {
+		Duration backoff = initialBackoff;
+		while (!closed) {
+			final var linkClosed = new CompletableFuture<CloseEvent>();
+			try (var link = linkFactory.open(gateway); var pc = new ProcessCommunicatorImpl(link)) {
+				link.addLinkListener(new NetworkLinkListener() {
+					@Override
+					public void linkClosed(final CloseEvent e) { linkClosed.complete(e); }
+				});
+				if (!link.isOpen())
+					linkClosed.complete(null);
+				pc.addProcessListener(new ProcessListener() {
+					@Override
+					public void groupWrite(final ProcessEvent e) { received(gateway, e); }
+					@Override
+					public void groupReadRequest(final ProcessEvent e) { received(gateway, e); }
+					@Override
+					public void groupReadResponse(final ProcessEvent e) { received(gateway, e); }
+					@Override
+					public void detached(final DetachEvent e) {}
+				});
+				connected.incrementAndGet();
+				backoff = initialBackoff;
+				stateChanged(gateway, true, link.getName());
+				try {
+					final var e = linkClosed.get();
+					stateChanged(gateway, false, e != null ? e.getReason() : "link closed");
+				}
+				finally {
+					connected.decrementAndGet();
+				}
+			}
+			catch (final KNXException | ExecutionException e) {
+				stateChanged(gateway, false, e.getMessage());
+			}
+			catch (final InterruptedException e) {
+				return;
+			}
+			if (closed)
+				return;
+			try {
+				// add jitter, so that gateways on a shared network outage don't reconnect in lockstep
+				final long jitter = ThreadLocalRandom.current().nextLong(backoff.toMillis() / 4 + 1);
+				Thread.sleep(backoff.plusMillis(jitter));
+			}
+			catch (final InterruptedException e) {
+				return;
+			}
+			backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+			reconnects.incrementAndGet();
+		}
+	}
+
+	private void received(final InetSocketAddress gateway, final ProcessEvent e) {
+		events.add(new Telegram(gateway, MonitorOutput.epochNanos(), e.getSourceAddr(), e.getDestination(),
+				e.getServiceCode(), e.getASDU()));
+	}
+
+	private void stateChanged(final InetSocketAddress gateway, final boolean connected, final String reason) {
+		events.add(new StateChange(gateway, MonitorOutput.epochNanos(), connected, reason));
+	}
+
+	private void dispatch() {
+		try {
+			while (true)
+				deliver(events.take());
+		}
+		catch (final InterruptedException e) {
+			// closed, deliver remaining events without waiting
+			Event remaining;
+			while ((remaining = events.poll()) != null)
+				deliver(remaining);
+		}
+	}
+
+	private void deliver(final Event e) {
+		try {
+			consumer.accept(e);
+		}
+		catch (final RuntimeException ex) {
+			System.err.println("monitor event consumer: " + ex);
+		}
+	}
+}
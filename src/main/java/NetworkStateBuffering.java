@@ -1,6 +1,6 @@
 /*
     Calimero 3 - A library for KNX network access
-    Copyright (c) 2016, 2025 B. Malinowsky
+    Copyright (c) 2016, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -17,15 +17,17 @@
     Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
 */
 
+import java.io.IOException;
 import java.net.NetworkInterface;
-import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 import io.calimero.GroupAddress;
 import io.calimero.IndividualAddress;
 import io.calimero.KNXException;
 import io.calimero.buffer.Configuration;
 import io.calimero.buffer.NetworkBuffer;
-import io.calimero.buffer.StateFilter;
+import io.calimero.datapoint.DatapointMap;
 import io.calimero.datapoint.StateDP;
 import io.calimero.dptxlator.DPTXlator8BitUnsigned;
 import io.calimero.knxnetip.KNXnetIPRouting;
@@ -42,28 +44,61 @@ public class NetworkStateBuffering
 	private static final GroupAddress group = new GroupAddress(1, 0, 3);
 	private static final StateDP dp = new StateDP(group, "my datapoint", DPTXlator8BitUnsigned.DPT_PERCENT_U8.dptId());
 
-	public static void main(final String[] args) throws UnknownHostException, KNXException, InterruptedException
+	// Set a telegram capture directory to replay the capture as KNX network (see ReplayLink), e.g., for load tests
+	private static final Path replayDirectory = null;
+
+	public static void main(final String[] args) throws IOException, KNXException, InterruptedException
 	{
+		final var settings = new KnxIPSettings(new IndividualAddress(1, 2, 3));
 		// Like always, create a network link of your choice
-		try (KNXNetworkLink link = KNXNetworkLinkIP.newRoutingLink((NetworkInterface) null,
-				KNXnetIPRouting.DefaultMulticast, new KnxIPSettings(new IndividualAddress(1, 2, 3)));
+		try (KNXNetworkLink link = replayDirectory != null
+				? new ReplayLink(replayDirectory, ReplayLink.MaxSpeed, settings)
+				: KNXNetworkLinkIP.newRoutingLink((NetworkInterface) null, KNXnetIPRouting.DefaultMulticast, settings);
 		     // setup Calimero network buffer
 		     NetworkBuffer nb = NetworkBuffer.createBuffer("my-networkbuffer")) {
 
-			final Configuration config = nb.addConfiguration(link);
-			// create a filter, here we use a default filter for state-based requests
-			final StateFilter f = new StateFilter();
-			config.setFilter(null, f);
-			config.activate(true);
-			// The buffered link will interact with the network buffer on each .req/.con/.ind
-			final KNXNetworkLink bufferedLink = config.getBufferedLink();
+			// single-flight group reads: concurrent reads of the same datapoint missing the buffer share one actual
+			// read on the KNX network; the read timeout matches the default response timeout of a process communicator
+			final Configuration config = nb.addConfiguration(new SingleFlightLink(link, Duration.ofSeconds(10)));
+			// the datapoint model provides the DPT of a group address, e.g., for the time to live of buffered values
+			final var datapoints = new DatapointMap<StateDP>();
+			datapoints.add(dp);
+			config.setDatapointModel(datapoints);
+			// create a filter for state-based requests, here with bounded size and expiring values:
+			// at most 60000 group addresses using 16 MiB, values expire after 5 minutes
+			final var f = new BoundedStateFilter(60_000, 16 * 1024 * 1024, Duration.ofMinutes(5));
+			// values of DPT main type 5 (8 bit unsigned) expire after 10 seconds
+			final var dpt5TimeToLive = Duration.ofSeconds(10);
+			f.setTimeToLive(5, dpt5TimeToLive);
+			// alternatively, an OffHeapStateFilter keeps the buffered values off-heap, with a single time to live
+			// and without state snapshots
+			config.setFilter(f, f);
+
+			// warm-start the buffer with the buffered state of the previous run (if any), and activate it
+			try (var snapshot = new StateSnapshot(f, Path.of("network-state.knxs"), Duration.ofMinutes(1));
+			     // polling task: refresh buffered datapoints before they expire, with at most 2 reads per second
+			     var refresh = new RefreshScheduler(config, 2, Duration.ofMinutes(5))) {
+				System.out.println("restored " + snapshot.activate(config) + " buffered datapoint states");
+				refresh.add(dp);
+				// a replay starts once the network buffer listens to the link, and the link stays open afterwards
+				if (link instanceof final ReplayLink replay)
+					replay.start();
+				// The buffered link will interact with the network buffer on each .req/.con/.ind
+				final KNXNetworkLink bufferedLink = config.getBufferedLink();
+
+				// Poll the buffered link
+				try (ProcessCommunicatorImpl pc = new ProcessCommunicatorImpl(bufferedLink)) {
+					// in the best case, the following loop will generate no traffic at all on the KNX network
+					// in the worst case, the following loop will generate only 1 actual read on the KNX network
+					for (int i = 0; i < 100; i++)
+						System.out.println("datapoint state value = " + pc.readNumeric(dp));
 
-			// Poll the buffered link
-			try (ProcessCommunicatorImpl pc = new ProcessCommunicatorImpl(bufferedLink)) {
-				// in the best case, the following loop will generate no traffic at all on the KNX network
-				// in the worst case, the following loop will generate only 1 actual read on the KNX network
-				for (int i = 0; i < 100; i++)
-					System.out.println("datapoint state value = " + pc.readNumeric(dp));
+					// after its time to live, the buffered value expired, and the read goes to the KNX network again
+					Thread.sleep(dpt5TimeToLive.plusSeconds(1));
+					System.out.println("datapoint state value after expiry = " + pc.readNumeric(dp));
+				}
+				System.out.println(f);
+				System.out.println(refresh);
 			}
 		}
 	}
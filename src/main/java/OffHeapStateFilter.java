@@ -0,0 +1,202 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.Priority;
+import io.calimero.buffer.Configuration;
+import io.calimero.buffer.NetworkFilter;
+import io.calimero.buffer.RequestFilter;
+import io.calimero.buffer.StateFilter;
+import io.calimero.cemi.CEMI;
+import io.calimero.cemi.CEMILData;
+
+/**
+ * State filter for a network buffer which stores the group values off-heap. In contrast to {@link StateFilter} and
+ * {@link BoundedStateFilter}, which keep a frame object per group address, the filter keeps the last value of every
+ * group address in a slot of one direct buffer (a 2 MiB slab, 32 bytes per group address), indexed by the raw group
+ * address. Storing a value does not allocate, and the slab adds no objects for the garbage collector to trace.
+ * <p>
+ * Slots are updated by a single writer, the receiver of the buffered link calling {@link #accept(CEMI, Configuration)},
+ * and read lock-free by any number of readers: every slot is guarded by a sequence lock, a reader retries if the slot
+ * was modified while reading it. {@link #read(int, byte[])} reads a value without allocation; a buffered read of the
+ * network buffer ({@link #request(KNXAddress, Configuration)}) creates the group response frame on a hit.
+ * <p>
+ * Values with a TPDU larger than 16 bytes (i.e., extended frames) are not stored, reads of these go to the KNX network.
+ */
+public final class OffHeapStateFilter implements NetworkFilter, RequestFilter {
+	// slot layout: sequence (4 bytes), source address (2), priority (1), TPDU length (1), timestamp (8), TPDU (16)
+	private static final int slotSize = 32;
+	private static final int seqOffset = 0;
+	private static final int srcOffset = 4;
+	private static final int priorityOffset = 6;
+	private static final int lengthOffset = 7;
+	private static final int timestampOffset = 8;
+	private static final int tpduOffset = 16;
+	private static final int maxTpduLength = slotSize - tpduOffset;
+
+	private static final int groupResponse = 0x40;
+	private static final int groupWrite = 0x80;
+
+	private static final VarHandle seq = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+	private final ByteBuffer slab = ByteBuffer.allocateDirect(0x10000 * slotSize).order(ByteOrder.nativeOrder());
+	private final long timeToLive;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates a new off-heap state filter.
+	 *
+	 * @param timeToLive time to live of a stored value, {@link Duration#ZERO} for values which don't expire
+	 */
+	public OffHeapStateFilter(final Duration timeToLive) {
+		this.timeToLive = timeToLive.isZero() ? Long.MAX_VALUE : timeToLive.toNanos();
+	}
+
+	@Override
+	public void init(final Configuration c) {}
+
+	/**
+	 * Stores the value of a group write or group response; this method is not thread-safe and expected to be called by
+	 * the network buffer only.
+	 */
+	@Override
+	public void accept(final CEMI frame, final Configuration c) {
+		if (!(frame instanceof final CEMILData ldata) || !(ldata.getDestination() instanceof final GroupAddress dst))
+			return;
+		final byte[] tpdu = ldata.getPayload();
+		if (tpdu.length < 2 || tpdu.length > maxTpduLength)
+			return;
+		final int svc = (tpdu[0] & 0x03) << 8 | tpdu[1] & 0xc0;
+		if (svc != groupWrite && svc != groupResponse)
+			return;
+
+		final int slot = dst.getRawAddress() * slotSize;
+		final int version = (int) seq.getOpaque(slab, slot + seqOffset);
+		// odd sequence marks a write in progress
+		seq.setOpaque(slab, slot + seqOffset, version + 1);
+		VarHandle.storeStoreFence();
+		slab.putShort(slot + srcOffset, (short) ldata.getSource().getRawAddress());
+		slab.put(slot + priorityOffset, (byte) ldata.getPriority().value());
+		slab.put(slot + lengthOffset, (byte) tpdu.length);
+		slab.putLong(slot + timestampOffset, System.nanoTime());
+		slab.put(slot + tpduOffset, tpdu);
+		// we answer reads with a group response, so store writes as responses
+		slab.put(slot + tpduOffset + 1, (byte) (tpdu[1] & 0x3f | groupResponse));
+		seq.setRelease(slab, slot + seqOffset, version + 2);
+	}
+
+	@Override
+	public CEMILData request(final KNXAddress dst, final Configuration c) {
+		final int slot = dst.getRawAddress() * slotSize;
+		// only allocated on a hit, sized to the stored TPDU
+		byte[] tpdu = null;
+		int version;
+		int length;
+		int src;
+		int priority;
+		do {
+			version = (int) seq.getAcquire(slab, slot + seqOffset);
+			length = storedLength(slot);
+			if (length > 0) {
+				if (tpdu == null || tpdu.length != length)
+					tpdu = new byte[length];
+				slab.get(slot + tpduOffset, tpdu, 0, length);
+			}
+			src = slab.getShort(slot + srcOffset) & 0xffff;
+			priority = slab.get(slot + priorityOffset);
+			VarHandle.loadLoadFence();
+		}
+		while ((version & 1) != 0 || version != (int) seq.getOpaque(slab, slot + seqOffset));
+
+		if (length == 0) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(src), dst, tpdu, Priority.get(priority));
+	}
+
+	/**
+	 * Reads the stored TPDU of a group address (stored as group response) into {@code tpdu}, without allocation.
+	 *
+	 * @param rawGroupAddress raw group address
+	 * @param tpdu buffer with a length of at least 16 bytes
+	 * @return length of the TPDU, or 0 if no value is stored or the value expired
+	 */
+	public int read(final int rawGroupAddress, final byte[] tpdu) {
+		final int slot = rawGroupAddress * slotSize;
+		int version;
+		int length;
+		do {
+			version = (int) seq.getAcquire(slab, slot + seqOffset);
+			length = readSlot(slot, tpdu);
+			VarHandle.loadLoadFence();
+		}
+		while ((version & 1) != 0 || version != (int) seq.getOpaque(slab, slot + seqOffset));
+		if (length == 0)
+			misses.increment();
+		else
+			hits.increment();
+		return length;
+	}
+
+	/**
+	 * {@return the number of reads served by this filter}
+	 */
+	public long hits() { return hits.sum(); }
+
+	/**
+	 * {@return the number of reads not served, because no value was stored or the value expired}
+	 */
+	public long misses() { return misses.sum(); }
+
+	@Override
+	public String toString() {
+		return "off-heap state filter, " + hits() + " hits, " + misses() + " misses";
+	}
+
+	// reads a slot, validity of the read is checked by the caller; returns the TPDU length, 0 for no (valid) value
+	private int readSlot(final int slot, final byte[] tpdu) {
+		final int length = storedLength(slot);
+		if (length > 0)
+			slab.get(slot + tpduOffset, tpdu, 0, length);
+		return length;
+	}
+
+	// returns the TPDU length of a slot, 0 for no (valid) value
+	private int storedLength(final int slot) {
+		final int length = slab.get(slot + lengthOffset) & 0xff;
+		if (length == 0 || length > maxTpduLength)
+			return 0;
+		if (System.nanoTime() - slab.getLong(slot + timestampOffset) >= timeToLive)
+			return 0;
+		return length;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.net.InetSocketAddress;
+
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+
+/**
+ * Example code showing a group monitor for busy KNX networks. Unlike the {@link GroupMonitor}, which prints every group
+ * notification on the receiver thread of the network link, group notifications are handed off to a
+ * {@link MonitorPipeline}, and written in batches to System.out by the pipeline's consumer thread (see
+ * {@link MonitorOutput}). Hence, a slow terminal or pipe does not delay the network link.
+ * <p>
+ * Like the group monitor, this example monitors until the KNX network link connection got closed.
+ */
+public class PipelinedGroupMonitor {
+	/**
+	 * Address of your KNXnet/IP server. Replace the host or IP address as necessary.
+	 */
+	private static final String remoteHost = "192.168.10.10";
+
+	public static void main(final String[] args) {
+		final var anyLocal = new InetSocketAddress(0);
+		final var remote = new InetSocketAddress(remoteHost, 3671);
+		try (KNXNetworkLink knxLink = KNXNetworkLinkIP.newTunnelingLink(anyLocal, remote, false, new TPSettings());
+		     ProcessCommunicator pc = new ProcessCommunicatorImpl(knxLink);
+		     var output = MonitorOutput.stdout();
+		     var pipeline = new MonitorPipeline(output, 8192, MonitorPipeline.Overflow.DropOldest)) {
+
+			// the pipeline is the process listener, it only copies a notification into its ring buffer
+			pc.addProcessListener(pipeline);
+			System.out.println("Monitoring KNX network using KNXnet/IP server " + remoteHost + " ...");
+
+			while (knxLink.isOpen()) Thread.sleep(1000);
+			System.out.println(pipeline);
+		}
+		catch (final KNXException | InterruptedException | RuntimeException e) {
+			System.err.println(e);
+		}
+	}
+}
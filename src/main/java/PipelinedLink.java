@@ -0,0 +1,350 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.KNXAddress;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link decorator with pipelined sends, for bulk writes over a tunneling link using a stream connection, i.e.,
+ * a {@code TcpConnection} or a secure session. Instead of waiting for the confirmation of every frame before sending
+ * the next one, up to {@code window} frames are in flight, i.e., sent and not yet confirmed by an L-Data confirmation.
+ * <ul>
+ * <li>Frames to different destinations are pipelined; frames to the same destination are sent in order, one at a
+ * time, so a retransmitted frame never overtakes a later frame to its destination (e.g., an older group value).</li>
+ * <li>A confirmation completes the frame in flight with the same destination and TPDU. On a negative confirmation, or
+ * if no confirmation is received within the confirmation timeout, the frame is retransmitted, up to
+ * {@code retransmits} times.</li>
+ * <li>All frames are sent from a single sender thread, which also handles retransmits.</li>
+ * </ul>
+ * {@link #sendAsync(CEMILData)} returns once the frame is queued (waiting while the window is full), the link methods
+ * {@code sendRequestWait} and {@code send(msg, true)} wait for the confirmation, {@code sendRequest} does not. Other
+ * users of the decorated link should not send frames with the same destination and TPDU concurrently, as their
+ * confirmations are indistinguishable.
+ */
+public final class PipelinedLink implements KNXNetworkLink {
+	private static final class Frame {
+		final CEMILData msg;
+		final KNXAddress dst;
+		final CompletableFuture<Void> done = new CompletableFuture<>();
+		int attempts;
+		ScheduledFuture<?> timeout;
+
+		Frame(final CEMILData msg) {
+			this.msg = msg;
+			dst = msg.getDestination();
+		}
+	}
+
+	private final KNXNetworkLink link;
+	private final int window;
+	private final long confirmationTimeout;
+	private final int retransmits;
+
+	private final Semaphore permits;
+	private final ScheduledExecutorService sender;
+	// guarded by this
+	private final ArrayDeque<Frame> waiting = new ArrayDeque<>();
+	private final Map<KNXAddress, Frame> inFlight = new HashMap<>();
+	private volatile boolean closed;
+
+	private final AtomicLong confirmed = new AtomicLong();
+	private final AtomicLong retransmitted = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	private final NetworkLinkListener confirmations = new NetworkLinkListener() {
+		@Override
+		public void confirmation(final FrameEvent e) {
+			if (e.getFrame() instanceof final CEMILData con)
+				confirmed(con);
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e) { close(); }
+	};
+
+	/**
+	 * Creates a pipelining decorator for {@code link}.
+	 *
+	 * @param link the link to decorate, usually a tunneling link over a stream connection
+	 * @param window maximum number of frames in flight, 1 corresponds to stop-and-wait
+	 * @param confirmationTimeout time to wait for the confirmation of a frame before retransmitting it
+	 * @param retransmits maximum number of retransmits of a frame
+	 */
+	public PipelinedLink(final KNXNetworkLink link, final int window, final Duration confirmationTimeout,
+			final int retransmits) {
+		if (window < 1)
+			throw new IllegalArgumentException("window " + window + " < 1");
+		if (retransmits < 0)
+			throw new IllegalArgumentException("retransmits " + retransmits + " < 0");
+		this.link = link;
+		this.window = window;
+		this.confirmationTimeout = confirmationTimeout.toNanos();
+		this.retransmits = retransmits;
+		permits = new Semaphore(window);
+		sender = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("Pipelined sender " + link.getName()).daemon().factory());
+		link.addLinkListener(confirmations);
+	}
+
+	/**
+	 * Sends a frame pipelined, waiting while the send window is full.
+	 *
+	 * @param msg L-Data request
+	 * @return future completing on a positive confirmation of the frame, or exceptionally with a
+	 *         {@link KNXTimeoutException} after the last retransmit or a {@link KNXLinkClosedException}
+	 * @throws KNXLinkClosedException if this link is closed
+	 * @throws InterruptedException on interrupt while waiting for the send window
+	 */
+	public CompletableFuture<Void> sendAsync(final CEMILData msg) throws KNXLinkClosedException, InterruptedException {
+		if (closed)
+			throw new KNXLinkClosedException("link closed");
+		permits.acquire();
+		final var frame = new Frame(msg);
+		frame.done.whenComplete((v, e) -> permits.release());
+		synchronized (this) {
+			waiting.add(frame);
+		}
+		if (closed)
+			frame.done.completeExceptionally(new KNXLinkClosedException("link closed"));
+		else
+			execute(this::pump);
+		return frame.done;
+	}
+
+	/**
+	 * Waits until all frames sent so far are confirmed or failed.
+	 *
+	 * @throws InterruptedException on interrupt
+	 */
+	public void flush() throws InterruptedException {
+		permits.acquire(window);
+		permits.release(window);
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		send(new CEMILData(CEMILData.MC_LDATA_REQ, link.getKNXMedium().getDeviceAddress(), dst, nsdu, p), false);
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		send(new CEMILData(CEMILData.MC_LDATA_REQ, link.getKNXMedium().getDeviceAddress(), dst, nsdu, p), true);
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException, KNXLinkClosedException {
+		final CompletableFuture<Void> done;
+		try {
+			done = sendAsync(msg);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new KNXTimeoutException("interrupted while waiting for send window");
+		}
+		if (!waitForCon)
+			return;
+		try {
+			done.join();
+		}
+		catch (final CompletionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof final KNXTimeoutException timeout)
+				throw timeout;
+			if (cause instanceof final KNXLinkClosedException linkClosed)
+				throw linkClosed;
+			throw e;
+		}
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings) { link.setKNXMedium(settings); }
+
+	@Override
+	public KNXMediumSettings getKNXMedium() { return link.getKNXMedium(); }
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l) { link.addLinkListener(l); }
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l) { link.removeLinkListener(l); }
+
+	@Override
+	public void setHopCount(final int count) { link.setHopCount(count); }
+
+	@Override
+	public int getHopCount() { return link.getHopCount(); }
+
+	@Override
+	public String getName() { return link.getName(); }
+
+	@Override
+	public boolean isOpen() { return !closed && link.isOpen(); }
+
+	/**
+	 * Closes this link and the decorated link, frames not confirmed yet complete exceptionally.
+	 */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		sender.shutdownNow();
+		link.removeLinkListener(confirmations);
+		link.close();
+		final List<Frame> pending;
+		synchronized (this) {
+			pending = new ArrayList<>(waiting);
+			pending.addAll(inFlight.values());
+			waiting.clear();
+			inFlight.clear();
+		}
+		final var e = new KNXLinkClosedException("link closed");
+		pending.forEach(f -> f.done.completeExceptionally(e));
+	}
+
+	@Override
+	public String toString() {
+		final int n;
+		synchronized (this) {
+			n = inFlight.size();
+		}
+		return link + " (pipelined, window " + window + ", " + n + " in flight, " + confirmed + " confirmed, "
+				+ retransmitted + " retransmits, " + failed + " failed)";
+	}
+
+	// sends waiting frames whose destination has no frame in flight, keeping the order per destination
+	private void pump() {
+		final List<Frame> send = new ArrayList<>();
+		synchronized (this) {
+			final var blocked = new HashSet<KNXAddress>(inFlight.keySet());
+			for (final var i = waiting.iterator(); i.hasNext();) {
+				final var frame = i.next();
+				if (blocked.add(frame.dst)) {
+					i.remove();
+					inFlight.put(frame.dst, frame);
+					send.add(frame);
+				}
+			}
+		}
+		send.forEach(this::transmit);
+	}
+
+	// runs on the sender thread
+	private void transmit(final Frame frame) {
+		final int attempt = ++frame.attempts;
+		// schedule the timeout first, the confirmation might arrive before send returns
+		final var timeout = sender.schedule(() -> timedOut(frame, attempt), confirmationTimeout, TimeUnit.NANOSECONDS);
+		synchronized (this) {
+			frame.timeout = timeout;
+		}
+		try {
+			link.send(frame.msg, false);
+		}
+		catch (final KNXTimeoutException e) {
+			timeout.cancel(false);
+			retransmit(frame, e.getMessage());
+		}
+		catch (final KNXLinkClosedException e) {
+			close();
+		}
+	}
+
+	private void confirmed(final CEMILData con) {
+		final Frame frame;
+		synchronized (this) {
+			frame = inFlight.get(con.getDestination());
+			if (frame == null || !Arrays.equals(frame.msg.getPayload(), con.getPayload()))
+				return;
+			if (frame.timeout != null)
+				frame.timeout.cancel(false);
+			if (con.isPositiveConfirmation())
+				inFlight.remove(frame.dst);
+		}
+		if (con.isPositiveConfirmation()) {
+			confirmed.incrementAndGet();
+			frame.done.complete(null);
+			execute(this::pump);
+		}
+		else
+			execute(() -> retransmit(frame, "negative confirmation"));
+	}
+
+	private void execute(final Runnable task) {
+		try {
+			sender.execute(task);
+		}
+		catch (final RejectedExecutionException e) {
+			// closed
+		}
+	}
+
+	private void timedOut(final Frame frame, final int attempt) {
+		synchronized (this) {
+			if (inFlight.get(frame.dst) != frame || frame.attempts != attempt)
+				return;
+		}
+		retransmit(frame, "no confirmation");
+	}
+
+	// runs on the sender thread, the frame stays in flight while retransmitting
+	private void retransmit(final Frame frame, final String reason) {
+		if (closed)
+			return;
+		if (frame.attempts <= retransmits) {
+			retransmitted.incrementAndGet();
+			transmit(frame);
+			return;
+		}
+		synchronized (this) {
+			inFlight.remove(frame.dst, frame);
+		}
+		failed.incrementAndGet();
+		frame.done.completeExceptionally(new KNXTimeoutException(
+				"send to " + frame.dst + " failed after " + frame.attempts + " attempts: " + reason));
+		pump();
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 3 - A library for KNX network access
-    Copyright (c) 2013, 2025 B. Malinowsky
+    Copyright (c) 2013, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -18,9 +18,13 @@
 */
 
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import io.calimero.GroupAddress;
 import io.calimero.KNXException;
+import io.calimero.datapoint.StateDP;
 import io.calimero.link.KNXNetworkLink;
 import io.calimero.link.KNXNetworkLinkIP;
 import io.calimero.link.medium.TPSettings;
@@ -54,8 +58,26 @@ public class ProcessCommunication
 
 			// Uncomment the next line, if you want to write back the same value to the KNX network
 			// pc.write(group, value);
+
+			// For frequent writes, e.g., of a dimming UI, coalesce writes to the latest value per group address,
+			// which is written once every flush interval
+			// try (var writes = new WriteCoalescer(pc, Duration.ofMillis(200))) {
+			// 	writes.write(new GroupAddress(group), value);
+			// }
+
+			try (var apc = new AsyncProcessCommunicator(knxLink)) {
+				apc.setResponseTimeout(Duration.ofSeconds(2));
+				// Non-blocking read, the returned future completes with the group response
+				final var dp = new StateDP(new GroupAddress(group), "my boolean", "1.001");
+				final var read = apc.readAsync(dp).thenAccept(t -> System.out.println(dp + " value = " + t.getValue()));
+
+				// Read many datapoints at once, with up to 16 reads in flight; add your datapoints as necessary
+				final var values = new BatchGroupReader(apc, 16).read(List.of(dp)).get();
+				values.forEach((address, t) -> System.out.println("datapoint " + address + " value = " + t.getValue()));
+				read.get();
+			}
 		}
-		catch (KNXException | InterruptedException e) {
+		catch (KNXException | InterruptedException | ExecutionException e) {
 			System.out.println("Error accessing KNX datapoint: " + e.getMessage());
 		}
 	}
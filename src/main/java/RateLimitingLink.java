@@ -0,0 +1,401 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link decorator which paces sent frames, to not overrun TP1 lines and couplers with bulk operations like
+ * scene pushes or batch writes. Sends are queued per destination line, and a dispatcher thread releases them in order
+ * of their line when
+ * <ul>
+ * <li>the token bucket of the destination line has a token: every line (area and line of an individual destination
+ * address) has its own queue and bucket, so a throttled line does not hold back frames to other lines,</li>
+ * <li>the previous frame of the line was sent: a released frame is passed to the decorated link by a sender thread of
+ * its line, so a frame waiting for its confirmation only holds back the frames to the same line,</li>
+ * <li>and the bus load is below the target utilization: the bus load is estimated over a sliding window of one second
+ * from the frames observed on the link (indications and confirmations, i.e., including our own frames).</li>
+ * </ul>
+ * Group destinations are not bound to a line, so all group telegrams share one queue and one token bucket, i.e., the
+ * rate limit per destination line applies to the sum of group telegrams, independent of the lines the group addresses
+ * are routed to. Choose the rate for a mix of group and individual traffic accordingly.
+ * <p>
+ * A sending thread blocks until its frame was passed to the decorated link (and with confirmation, until the
+ * confirmation was received), so bulk senders are throttled to the pace of the bus. A sender waits at most for the
+ * frames queued ahead on its line at the line rate, plus 10 seconds; on timeout or interrupt, a frame still queued
+ * is not sent, and the send fails with {@link KNXTimeoutException}. The time frames spend in the queue is available
+ * as {@link #metrics()}.
+ */
+public final class RateLimitingLink implements KNXNetworkLink {
+	// TP1 at 9600 bit/s transfers about 50 standard frames per second, including acknowledgment
+	private static final double tp1TelegramsPerSecond = 50;
+	// line key for group destinations
+	private static final int groupLine = -1;
+	// time a send waits in addition to sending the frames queued ahead, for bus load to drop and for confirmations
+	private static final Duration sendTimeout = Duration.ofSeconds(10);
+
+	/**
+	 * Rate limiter metrics.
+	 *
+	 * @param sent number of frames sent
+	 * @param queued number of frames currently queued
+	 * @param averageQueueDelay average time a frame was queued before it was sent
+	 * @param maxQueueDelay maximum time a frame was queued before it was sent
+	 * @param busLoad estimated bus load over the last second, 1 corresponds to a fully utilized TP1 line
+	 */
+	public record Metrics(long sent, int queued, Duration averageQueueDelay, Duration maxQueueDelay, double busLoad) {}
+
+	@FunctionalInterface
+	private interface Send {
+		void send() throws KNXTimeoutException, KNXLinkClosedException;
+	}
+
+	private record Pending(int line, Send send, long enqueued, CompletableFuture<Void> done) {}
+
+	private static final class TokenBucket {
+		private final double rate;
+		private final double capacity;
+		private double tokens;
+		private long updated = System.nanoTime();
+
+		TokenBucket(final double rate) {
+			this.rate = rate;
+			capacity = Math.max(1, rate / 4);
+			tokens = capacity;
+		}
+
+		// returns 0 if a token is available, otherwise the nanoseconds until a token is available
+		long delay(final long now) {
+			tokens = Math.min(capacity, tokens + (now - updated) * rate / 1e9);
+			updated = now;
+			if (tokens >= 1)
+				return 0;
+			return (long) Math.ceil((1 - tokens) / rate * 1e9);
+		}
+
+		void take() { tokens--; }
+	}
+
+	// counts frames in 10 slots of 100 ms
+	private static final class SlidingWindow {
+		private static final int slots = 10;
+		private static final long slotNanos = 100_000_000;
+		private final long[] counts = new long[slots];
+		private final long[] slotIds = new long[slots];
+
+		synchronized void record(final long now) {
+			final long id = now / slotNanos;
+			final int i = Math.floorMod(id, slots);
+			if (slotIds[i] != id) {
+				slotIds[i] = id;
+				counts[i] = 0;
+			}
+			counts[i]++;
+		}
+
+		// frames per second over the last window
+		synchronized double rate(final long now) {
+			final long id = now / slotNanos;
+			long total = 0;
+			for (int i = 0; i < slots; i++)
+				if (id - slotIds[i] < slots)
+					total += counts[i];
+			return total * 1e9 / (slots * slotNanos);
+		}
+	}
+
+	private final KNXNetworkLink link;
+	private final double lineRate;
+	private final double targetUtilization;
+
+	// queued frames per line with queued frames, in round-robin order; guards all queue state and closed
+	private final Map<Integer, ArrayDeque<Pending>> lines = new LinkedHashMap<>();
+	private final Map<Integer, TokenBucket> buckets = new HashMap<>();
+	// lines with a frame currently passed to the decorated link
+	private final Set<Integer> sending = new HashSet<>();
+	private int queued;
+	private final SlidingWindow busFrames = new SlidingWindow();
+	private final Thread dispatcher;
+	private volatile boolean closed;
+
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong totalDelay = new AtomicLong();
+	private final AtomicLong maxDelay = new AtomicLong();
+
+	private final NetworkLinkListener observer = new NetworkLinkListener() {
+		@Override
+		public void indication(final FrameEvent e) { busFrames.record(System.nanoTime()); }
+
+		@Override
+		public void confirmation(final FrameEvent e) { busFrames.record(System.nanoTime()); }
+
+		@Override
+		public void linkClosed(final CloseEvent e) { close(); }
+	};
+
+	/**
+	 * Creates a rate-limiting decorator for {@code link}.
+	 *
+	 * @param link the link to decorate
+	 * @param telegramsPerSecond maximum rate of sent frames per destination line
+	 * @param targetUtilization maximum bus load in the range (0, 1] up to which frames are sent, e.g., 0.5
+	 */
+	public RateLimitingLink(final KNXNetworkLink link, final double telegramsPerSecond,
+			final double targetUtilization) {
+		if (!(telegramsPerSecond > 0))
+			throw new IllegalArgumentException("rate " + telegramsPerSecond + " <= 0");
+		if (!(targetUtilization > 0 && targetUtilization <= 1))
+			throw new IllegalArgumentException("target utilization " + targetUtilization + " not in (0, 1]");
+		this.link = link;
+		lineRate = telegramsPerSecond;
+		this.targetUtilization = targetUtilization;
+		link.addLinkListener(observer);
+		dispatcher = Thread.ofPlatform().daemon().name("Rate limiter " + link.getName()).start(this::dispatch);
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		enqueue(dst, () -> link.sendRequest(dst, p, nsdu));
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		enqueue(dst, () -> link.sendRequestWait(dst, p, nsdu));
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException, KNXLinkClosedException {
+		enqueue(msg.getDestination(), () -> link.send(msg, waitForCon));
+	}
+
+	/**
+	 * {@return current rate limiter metrics}
+	 */
+	public Metrics metrics() {
+		final long n = sent.get();
+		final int q;
+		synchronized (lines) {
+			q = queued;
+		}
+		return new Metrics(n, q, Duration.ofNanos(n == 0 ? 0 : totalDelay.get() / n),
+				Duration.ofNanos(maxDelay.get()), busLoad());
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings) { link.setKNXMedium(settings); }
+
+	@Override
+	public KNXMediumSettings getKNXMedium() { return link.getKNXMedium(); }
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l) { link.addLinkListener(l); }
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l) { link.removeLinkListener(l); }
+
+	@Override
+	public void setHopCount(final int count) { link.setHopCount(count); }
+
+	@Override
+	public int getHopCount() { return link.getHopCount(); }
+
+	@Override
+	public String getName() { return link.getName(); }
+
+	@Override
+	public boolean isOpen() { return !closed && link.isOpen(); }
+
+	/**
+	 * Closes this link and the decorated link, queued frames are not sent.
+	 */
+	@Override
+	public void close() {
+		synchronized (lines) {
+			if (closed)
+				return;
+			closed = true;
+			// no sends are queued after closed is set, so this rejects every queued frame
+			final var e = new KNXLinkClosedException("link closed");
+			lines.values().forEach(queue -> queue.forEach(p -> p.done().completeExceptionally(e)));
+			lines.clear();
+			queued = 0;
+			lines.notifyAll();
+		}
+		dispatcher.interrupt();
+		link.removeLinkListener(observer);
+		link.close();
+	}
+
+	@Override
+	public String toString() {
+		final var m = metrics();
+		return link + " (rate limit " + lineRate + " telegrams/s per line, " + m.queued() + " queued, avg delay "
+				+ m.averageQueueDelay().toMillis() + " ms, bus load " + Math.round(m.busLoad() * 100) + "%)";
+	}
+
+	private double busLoad() {
+		return busFrames.rate(System.nanoTime()) / tp1TelegramsPerSecond;
+	}
+
+	private void enqueue(final KNXAddress dst, final Send send) throws KNXTimeoutException, KNXLinkClosedException {
+		if (closed)
+			throw new KNXLinkClosedException("link closed");
+		final int line = dst instanceof IndividualAddress ? dst.getRawAddress() >> 8 : groupLine;
+		final var pending = new Pending(line, send, System.nanoTime(), new CompletableFuture<>());
+		final long timeoutNanos;
+		synchronized (lines) {
+			if (closed)
+				throw new KNXLinkClosedException("link closed");
+			final var queue = lines.computeIfAbsent(line, k -> new ArrayDeque<>());
+			queue.add(pending);
+			queued++;
+			timeoutNanos = (long) (queue.size() / lineRate * 1e9) + sendTimeout.toNanos();
+			lines.notifyAll();
+		}
+		try {
+			pending.done().get(timeoutNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (final InterruptedException e) {
+			dequeue(pending);
+			Thread.currentThread().interrupt();
+			throw new KNXTimeoutException("interrupted while waiting for send to " + dst);
+		}
+		catch (final TimeoutException e) {
+			dequeue(pending);
+			throw new KNXTimeoutException("timeout waiting for send to " + dst);
+		}
+		catch (final ExecutionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof final KNXTimeoutException timeout)
+				throw timeout;
+			if (cause instanceof final KNXLinkClosedException linkClosed)
+				throw linkClosed;
+			throw (RuntimeException) cause;
+		}
+	}
+
+	// removes a frame which was not dispatched yet
+	private void dequeue(final Pending pending) {
+		synchronized (lines) {
+			final var queue = lines.get(pending.line());
+			if (queue != null && queue.remove(pending)) {
+				queued--;
+				if (queue.isEmpty())
+					lines.remove(pending.line());
+			}
+		}
+	}
+
+	private void dispatch() {
+		try {
+			Pending pending;
+			while ((pending = next()) != null) {
+				final long delay = System.nanoTime() - pending.enqueued();
+				final var p = pending;
+				Thread.startVirtualThread(() -> send(p, delay));
+			}
+		}
+		catch (final InterruptedException e) {
+			// closed, queued frames were rejected by close
+		}
+	}
+
+	private void send(final Pending pending, final long queueDelay) {
+		try {
+			pending.send().send();
+			totalDelay.addAndGet(queueDelay);
+			maxDelay.accumulateAndGet(queueDelay, Math::max);
+			sent.incrementAndGet();
+			pending.done().complete(null);
+		}
+		catch (KNXTimeoutException | KNXLinkClosedException | RuntimeException e) {
+			pending.done().completeExceptionally(e);
+		}
+		finally {
+			synchronized (lines) {
+				sending.remove(pending.line());
+				lines.notifyAll();
+			}
+		}
+	}
+
+	// waits until the bus load is below target and a line with queued frames is not sending and has a token, and
+	// returns the next frame of that line; returns null if closed
+	private Pending next() throws InterruptedException {
+		synchronized (lines) {
+			while (!closed) {
+				if (busLoad() >= targetUtilization) {
+					TimeUnit.NANOSECONDS.timedWait(lines, SlidingWindow.slotNanos);
+					continue;
+				}
+				final long now = System.nanoTime();
+				long wait = Long.MAX_VALUE;
+				for (final var entry : lines.entrySet()) {
+					final int line = entry.getKey();
+					if (sending.contains(line))
+						continue;
+					final var bucket = buckets.computeIfAbsent(line, k -> new TokenBucket(lineRate));
+					final long delay = bucket.delay(now);
+					if (delay == 0) {
+						bucket.take();
+						final var queue = entry.getValue();
+						final var pending = queue.poll();
+						queued--;
+						sending.add(line);
+						// move the line to the end, so lines with a token take turns
+						lines.remove(line);
+						if (!queue.isEmpty())
+							lines.put(line, queue);
+						return pending;
+					}
+					wait = Math.min(wait, delay);
+				}
+				if (wait == Long.MAX_VALUE)
+					lines.wait();
+				else
+					TimeUnit.NANOSECONDS.timedWait(lines, wait);
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.datapoint.Datapoint;
+import io.calimero.datapoint.DatapointMap;
+import io.calimero.datapoint.DatapointModel;
+import io.calimero.xml.KNXMLException;
+import io.calimero.xml.XmlReader;
+import io.calimero.xml.XmlWriter;
+
+/**
+ * Datapoint model backed by an array with one slot for every group address, indexed by the raw group address. In
+ * contrast to {@link DatapointMap}, a lookup does not require a {@link GroupAddress} instance: use {@link #get(int)}
+ * with the raw destination address of a received frame. Lookups are a single array access, and the memory used is
+ * fixed (one reference per group address, i.e., 64K references), independent of the number of datapoints.
+ * <p>
+ * The model is thread-safe; lookups are lock-free, modifications are synchronized. The XML format used for
+ * {@link #load(XmlReader)} and {@link #save(XmlWriter)} is the one of {@link DatapointMap}.
+ *
+ * @param <T> datapoint type stored in the model
+ */
+public final class RawAddressDatapointModel<T extends Datapoint> implements DatapointModel<T> {
+	private final AtomicReferenceArray<T> datapoints = new AtomicReferenceArray<>(0x10000);
+	private int size;
+
+	public RawAddressDatapointModel() {}
+
+	/**
+	 * Creates a datapoint model containing the supplied datapoints.
+	 *
+	 * @param datapoints datapoints to add
+	 */
+	public RawAddressDatapointModel(final Collection<? extends T> datapoints) {
+		datapoints.forEach(this::add);
+	}
+
+	@Override
+	public synchronized void add(final T dp) {
+		final int raw = dp.getMainAddress().getRawAddress();
+		if (datapoints.get(raw) != null)
+			throw new KNXIllegalArgumentException("datapoint " + dp.getMainAddress() + " already in model");
+		datapoints.set(raw, dp);
+		size++;
+	}
+
+	@Override
+	public synchronized void remove(final T dp) {
+		if (datapoints.compareAndSet(dp.getMainAddress().getRawAddress(), dp, null))
+			size--;
+	}
+
+	@Override
+	public synchronized void removeAll() {
+		for (int i = 0; i < datapoints.length(); i++)
+			datapoints.set(i, null);
+		size = 0;
+	}
+
+	@Override
+	public T get(final GroupAddress main) {
+		return datapoints.get(main.getRawAddress());
+	}
+
+	/**
+	 * Returns the datapoint with the supplied raw main address.
+	 *
+	 * @param rawGroupAddress raw group address, {@code 0 <= rawGroupAddress <= 0xffff}
+	 * @return the datapoint, or {@code null} if the model contains no datapoint with that address
+	 */
+	public T get(final int rawGroupAddress) {
+		return datapoints.get(rawGroupAddress);
+	}
+
+	@Override
+	public boolean contains(final GroupAddress main) {
+		return get(main) != null;
+	}
+
+	@Override
+	public boolean contains(final T dp) {
+		return get(dp.getMainAddress()) == dp;
+	}
+
+	/**
+	 * {@return the number of datapoints in this model}
+	 */
+	public synchronized int size() { return size; }
+
+	/**
+	 * {@return all datapoints of this model, ordered by group address}
+	 */
+	public List<T> getDatapoints() {
+		final List<T> list = new ArrayList<>();
+		for (int i = 0; i < datapoints.length(); i++) {
+			final T dp = datapoints.get(i);
+			if (dp != null)
+				list.add(dp);
+		}
+		return list;
+	}
+
+	/**
+	 * Loads datapoints in the XML format of {@link DatapointMap}. Datapoints already in this model are kept.
+	 */
+	@Override
+	public void load(final XmlReader r) throws KNXMLException {
+		final var map = new DatapointMap<T>();
+		map.load(r);
+		synchronized (this) {
+			map.getDatapoints().forEach(this::add);
+		}
+	}
+
+	/**
+	 * Saves all datapoints in the XML format of {@link DatapointMap}.
+	 */
+	@Override
+	public void save(final XmlWriter w) throws KNXMLException {
+		new DatapointMap<>(getDatapoints()).save(w);
+	}
+
+	@Override
+	public String toString() {
+		return "raw address datapoint model with " + size() + " datapoints";
+	}
+}
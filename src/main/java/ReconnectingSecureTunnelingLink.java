@@ -0,0 +1,100 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+import io.calimero.FrameEvent;
+import io.calimero.KNXException;
+import io.calimero.knxnetip.KNXnetIPConnection;
+import io.calimero.knxnetip.TcpConnection;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.TPSettings;
+
+/**
+ * This example shows how to keep a secure client tunneling link using KNX IP Secure, and reconnect it whenever the
+ * connection got closed. Deriving the keys from the passwords is costly, unlike in {@link SecureTunnelingLink}, the
+ * keys are derived only once by a {@link SecureCredentialCache}, and every reconnect uses the cached keys. Minimum
+ * requirements are Calimero version &ge; 3.0-SNAPSHOT and Java 21 (module java.base).
+ * <p>
+ * You can safely run this example, the (established) connection listens to incoming frames and is closed without
+ * sending KNX messages to the KNX network.
+ */
+public class ReconnectingSecureTunnelingLink {
+	/**
+	 * Specifies the KNXnet/IP server to access the KNX network, insert your server's actual host name or IP address,
+	 * e.g., "192.168.1.20". The default port is where most servers listen for new connection requests.
+	 */
+	private static final InetSocketAddress server = new InetSocketAddress("myKnxServer.myHome",
+			KNXnetIPConnection.DEFAULT_PORT);
+
+	/** User to authenticate for the secure session with the server, 0 < user < 128 */
+	private static final int user = 2;
+	/** User password for the specified user */
+	private static final String userPwd = "my-user-pwd";
+	/** Device authentication password of the server */
+	private static final String deviceAuthPwd = "dev-pwd";
+
+	private static final Duration reconnectDelay = Duration.ofSeconds(5);
+
+	public static void main(final String[] args) {
+		final var duration = Duration.ofMinutes(10);
+		System.out.println("This example keeps a secure tunneling link to " + server + " for " + duration.toMinutes()
+				+ " minutes, and reconnects whenever the link got closed");
+
+		// the cache derives the keys in the background, while we connect to the server
+		try (var credentials = new SecureCredentialCache()) {
+			credentials.register(server, user, userPwd.toCharArray(), deviceAuthPwd.toCharArray());
+
+			final var end = Instant.now().plus(duration);
+			while (Instant.now().isBefore(end)) {
+				try (	var tcp = TcpConnection.newTcpConnection(server);
+						var session = credentials.newSecureSession(tcp, server, user);
+						var link = KNXNetworkLinkIP.newSecureTunnelingLink(session, new TPSettings())) {
+
+					link.addLinkListener(new NetworkLinkListener() {
+						@Override
+						public void indication(final FrameEvent e) { System.out.println(e.getFrame()); }
+					});
+
+					System.out.println("Secure link established to " + link.getName());
+					while (link.isOpen() && Instant.now().isBefore(end))
+						Thread.sleep(1000);
+				}
+				catch (final KNXException | IOException | RuntimeException e) {
+					System.out.println("Error creating KNX IP secure tunneling link: " + e);
+				}
+				if (Instant.now().isBefore(end)) {
+					System.out.println("Link closed, reconnecting in " + reconnectDelay.toSeconds() + " seconds");
+					Thread.sleep(reconnectDelay);
+				}
+			}
+			System.out.println(credentials);
+		}
+		catch (final InterruptedException e) {
+			System.out.println("Interrupted");
+		}
+		finally {
+			System.out.println("Link closed");
+		}
+	}
+}
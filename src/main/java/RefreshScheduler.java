@@ -0,0 +1,265 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.buffer.Configuration;
+import io.calimero.buffer.RequestFilter;
+import io.calimero.cemi.CEMILData;
+import io.calimero.datapoint.StateDP;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+
+/**
+ * Background refresh of buffered state-based datapoints of a network buffer configuration. The scheduler re-reads a
+ * datapoint from the KNX network shortly before its buffered value expires, so that client reads of the buffered link
+ * keep being answered from the buffer.
+ * <ul>
+ * <li>Refresh reads are limited by a telegram budget (token bucket); a configuration is attached to one link, i.e.,
+ * one KNX line, so the budget applies per line.</li>
+ * <li>Datapoints which clients read are refreshed first: the scheduler observes client reads through the request
+ * filter of the configuration, and ranks datapoints by their (exponentially decaying) read frequency.</li>
+ * <li>The scheduler estimates the bus load from the frames on the link. While the bus is busy, it stops refreshing
+ * and backs off exponentially, so polling never saturates a TP1 segment.</li>
+ * </ul>
+ * The expiration time of a datapoint is the expiration timeout of its {@link StateDP}, or the default time to live;
+ * use the same time to live as the state filter of the configuration.
+ */
+public final class RefreshScheduler implements AutoCloseable {
+	// TP1 at 9600 bit/s transfers about 50 standard frames per second, including acknowledgment
+	private static final double tp1TelegramsPerSecond = 50;
+	// bus load at which refreshing stops
+	private static final double busyLoad = 0.6;
+	// refresh once this fraction of the time to live remains
+	private static final double refreshAhead = 0.2;
+
+	private static final Duration tick = Duration.ofMillis(100);
+	private static final Duration maxBackoff = Duration.ofSeconds(10);
+	// a read without response is not repeated before the (default) response timeout
+	private static final long responseTimeout = Duration.ofSeconds(10).toNanos();
+	// half-life of the client read frequency
+	private static final double accessHalfLifeNanos = Duration.ofMinutes(10).toNanos();
+	private static final byte[] groupRead = { 0, 0 };
+
+	private static final class Tracked {
+		final StateDP dp;
+		final long timeToLive;
+		volatile long validUntil;
+		volatile long pendingUntil;
+		private double accessScore;
+		private long lastAccess;
+
+		Tracked(final StateDP dp, final long timeToLive) {
+			this.dp = dp;
+			this.timeToLive = timeToLive;
+			// not buffered yet, refresh is due
+			validUntil = System.nanoTime();
+			pendingUntil = validUntil;
+		}
+
+		long refreshAt() { return validUntil - (long) (timeToLive * refreshAhead); }
+
+		synchronized void accessed(final long now) {
+			accessScore = score(now) + 1;
+			lastAccess = now;
+		}
+
+		synchronized double score(final long now) {
+			return accessScore * Math.pow(0.5, (now - lastAccess) / accessHalfLifeNanos);
+		}
+	}
+
+	private final Configuration config;
+	private final KNXNetworkLink link;
+	private final RequestFilter requestFilter;
+	private final double telegramsPerSecond;
+	private final long defaultTimeToLive;
+
+	private final Map<KNXAddress, Tracked> tracked = new ConcurrentHashMap<>();
+	private final AtomicLong frames = new AtomicLong();
+	private final AtomicLong refreshes = new AtomicLong();
+	private final Thread scheduler;
+	private volatile boolean closed;
+	private volatile double busLoad;
+
+	private final NetworkLinkListener busObserver = new NetworkLinkListener() {
+		@Override
+		public void indication(final FrameEvent e) {
+			frames.incrementAndGet();
+			if (!(e.getFrame() instanceof final CEMILData ldata))
+				return;
+			final var t = tracked.get(ldata.getDestination());
+			final byte[] tpdu = ldata.getPayload();
+			// any group response or write updates the buffered value
+			if (t != null && tpdu.length > 1 && (tpdu[1] & 0xc0) != 0) {
+				final long now = System.nanoTime();
+				t.validUntil = now + t.timeToLive;
+				t.pendingUntil = now;
+			}
+		}
+
+		@Override
+		public void confirmation(final FrameEvent e) { frames.incrementAndGet(); }
+
+		@Override
+		public void linkClosed(final CloseEvent e) { closed = true; }
+	};
+
+	/**
+	 * Creates and starts a refresh scheduler for the supplied configuration. The configuration has to have its
+	 * request filter set; the scheduler sends its reads on the base link of the configuration.
+	 *
+	 * @param c network buffer configuration
+	 * @param telegramsPerSecond budget of refresh reads per second
+	 * @param defaultTimeToLive time to live of datapoints without expiration timeout
+	 */
+	public RefreshScheduler(final Configuration c, final double telegramsPerSecond,
+			final Duration defaultTimeToLive) {
+		if (!(telegramsPerSecond > 0))
+			throw new IllegalArgumentException("telegram budget " + telegramsPerSecond + " <= 0");
+		config = c;
+		link = c.getBaseLink();
+		requestFilter = c.getRequestFilter();
+		if (requestFilter == null)
+			throw new IllegalStateException("configuration has no request filter");
+		this.telegramsPerSecond = telegramsPerSecond;
+		this.defaultTimeToLive = defaultTimeToLive.toNanos();
+
+		// observe client reads of the buffered link
+		c.setFilter(c.getNetworkFilter(), this::request);
+		link.addLinkListener(busObserver);
+		scheduler = Thread.ofPlatform().daemon().name("Refresh scheduler " + link.getName()).start(this::run);
+	}
+
+	/**
+	 * Adds a datapoint to refresh. A datapoint without buffered value is read with the next available budget.
+	 *
+	 * @param dp state-based datapoint
+	 */
+	public void add(final StateDP dp) {
+		final long ttl = dp.getExpirationTimeout() > 0 ? Duration.ofSeconds(dp.getExpirationTimeout()).toNanos()
+				: defaultTimeToLive;
+		tracked.putIfAbsent(dp.getMainAddress(), new Tracked(dp, ttl));
+	}
+
+	/**
+	 * Removes a datapoint from refreshing.
+	 *
+	 * @param dp state-based datapoint
+	 */
+	public void remove(final StateDP dp) {
+		tracked.remove(dp.getMainAddress());
+	}
+
+	/**
+	 * {@return the estimated bus load, in the range [0, 1]}
+	 */
+	public double busLoad() { return busLoad; }
+
+	/**
+	 * Stops refreshing, and restores the request filter of the configuration.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		scheduler.interrupt();
+		link.removeLinkListener(busObserver);
+		config.setFilter(config.getNetworkFilter(), requestFilter);
+	}
+
+	@Override
+	public String toString() {
+		return "refresh scheduler " + tracked.size() + " datapoints, " + refreshes + " refreshes, bus load "
+				+ Math.round(busLoad * 100) + "%";
+	}
+
+	private CEMILData request(final KNXAddress dst, final Configuration c) {
+		final var t = tracked.get(dst);
+		if (t != null)
+			t.accessed(System.nanoTime());
+		return requestFilter.request(dst, c);
+	}
+
+	private void run() {
+		final double tickSeconds = tick.toNanos() / 1e9;
+		final double burst = Math.max(1, telegramsPerSecond);
+		double tokens = burst;
+		long lastFrames = 0;
+		Duration backoff = tick;
+		try {
+			while (!closed) {
+				Thread.sleep(tick);
+				final long total = frames.get();
+				final double rate = (total - lastFrames) / tickSeconds;
+				lastFrames = total;
+				busLoad = Math.min(1, 0.7 * busLoad + 0.3 * rate / tp1TelegramsPerSecond);
+
+				if (busLoad >= busyLoad) {
+					Thread.sleep(backoff);
+					backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+					continue;
+				}
+				backoff = tick;
+				tokens = Math.min(burst, tokens + telegramsPerSecond * tickSeconds);
+				if (tokens >= 1)
+					tokens -= refresh((int) tokens);
+			}
+		}
+		catch (final InterruptedException e) {
+			// closed
+		}
+	}
+
+	// sends refresh reads for up to max due datapoints, most read first; returns the number of reads sent
+	private int refresh(final int max) {
+		final long now = System.nanoTime();
+		final List<Tracked> due = new ArrayList<>();
+		for (final var t : tracked.values())
+			if (now - t.refreshAt() >= 0 && now - t.pendingUntil >= 0)
+				due.add(t);
+		if (due.isEmpty())
+			return 0;
+		due.sort(Comparator.<Tracked>comparingDouble(t -> -t.score(now)).thenComparingLong(t -> t.validUntil));
+
+		int sent = 0;
+		for (final var t : due.subList(0, Math.min(max, due.size()))) {
+			try {
+				link.sendRequest(t.dp.getMainAddress(), Priority.LOW, groupRead);
+				t.pendingUntil = now + responseTimeout;
+				refreshes.incrementAndGet();
+				sent++;
+			}
+			catch (final KNXException e) {
+				System.err.println(this + ": refresh " + t.dp + ": " + e.getMessage());
+			}
+		}
+		return sent;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+
+import io.calimero.KNXException;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.process.ProcessCommunicatorImpl;
+
+/**
+ * Example code monitoring the replay of a telegram capture ({@link ReplayLink}), e.g., recorded using the
+ * {@link CapturingGroupMonitor}. The group notifications of the capture are printed by a {@link GroupMonitor}, without
+ * KNX hardware or network.
+ * <p>
+ * Run this example with the capture directory and an optional replay speed factor (default 1, or {@code max}) as
+ * arguments, e.g., {@code ./gradlew run -DmainClass=ReplayGroupMonitor --args="capture 10"}.
+ */
+public class ReplayGroupMonitor {
+	public static void main(final String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			System.out.println("Usage: ReplayGroupMonitor <capture directory> [speed | max]");
+			return;
+		}
+		final double speed = args.length == 1 ? ReplayLink.OriginalSpeed
+				: args[1].equals("max") ? ReplayLink.MaxSpeed : Double.parseDouble(args[1]);
+		try (var link = new ReplayLink(Path.of(args[0]), speed, new TPSettings());
+		     var pc = new ProcessCommunicatorImpl(link)) {
+
+			pc.addProcessListener(new GroupMonitor());
+			System.out.println("Monitoring " + link + " ...");
+			// start the replay only after adding the process listener, so it receives all telegrams
+			link.start();
+			System.out.println(link.replayDone().get() + " telegrams replayed");
+		}
+		catch (final KNXException | IOException | InterruptedException | ExecutionException | RuntimeException e) {
+			System.err.println(e);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link which replays a telegram capture ({@link TelegramCapture}) instead of accessing a KNX network. Captured
+ * group notifications are indicated to the link listeners with their original inter-arrival times, scaled by the
+ * replay speed; use {@link #MaxSpeed} to replay without any delays. The replay starts with {@link #start()}, i.e., after
+ * the users of the link registered their listeners; {@link #replayDone()} signals its end.
+ * <p>
+ * The link keeps the last value of every group address seen in the replay, so it also serves requests: a group read
+ * is answered by a group response with the last value (if any), and a group write updates the value. All sent frames
+ * are confirmed immediately. The link stays open after the replay, until it is closed by the user. Hence, a process
+ * communicator or network buffer runs unchanged with this link (see {@link ReplayGroupMonitor} or
+ * {@link NetworkStateBuffering}), without KNX hardware or network.
+ */
+public final class ReplayLink implements KNXNetworkLink {
+	/** Replay with the original timing of the capture. */
+	public static final double OriginalSpeed = 1;
+	/** Replay as fast as possible. */
+	public static final double MaxSpeed = Double.POSITIVE_INFINITY;
+
+	private static final int groupRead = 0x00;
+	private static final int groupResponse = 0x40;
+	private static final int groupWrite = 0x80;
+
+	private record Value(IndividualAddress source, byte[] tpdu) {}
+
+	private final TelegramCaptureReader capture;
+	private final double speed;
+	private final String name;
+	private volatile KNXMediumSettings settings;
+	private volatile int hopCount = 6;
+
+	private final List<NetworkLinkListener> listeners = new CopyOnWriteArrayList<>();
+	// last value per raw group address
+	private final AtomicReferenceArray<Value> values = new AtomicReferenceArray<>(0x10000);
+	private final CompletableFuture<Long> replayed = new CompletableFuture<>();
+
+	private Thread replay;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new replay link for a telegram capture.
+	 *
+	 * @param captureDirectory directory of the telegram capture to replay
+	 * @param speed replay speed factor, e.g., {@link #OriginalSpeed}, {@code 2}, {@code 10}, or {@link #MaxSpeed}
+	 * @param settings medium settings of this link, the device address is used as source address of sent frames
+	 * @throws IOException on error accessing the capture
+	 */
+	public ReplayLink(final Path captureDirectory, final double speed, final KNXMediumSettings settings)
+		throws IOException {
+		if (!(speed > 0))
+			throw new IllegalArgumentException("replay speed " + speed + " <= 0");
+		capture = new TelegramCaptureReader(captureDirectory);
+		this.speed = speed;
+		this.settings = settings;
+		name = "replay " + captureDirectory.getFileName();
+	}
+
+	/**
+	 * Starts the replay. Start it after the users of this link added their listeners, e.g., after creating a process
+	 * communicator and adding its process listeners, so they receive all telegrams of the capture.
+	 *
+	 * @throws IllegalStateException if the replay was already started, or this link is closed
+	 */
+	public synchronized void start() {
+		if (closed)
+			throw new IllegalStateException(name + " closed");
+		if (replay != null)
+			throw new IllegalStateException(name + " already started");
+		replay = Thread.ofPlatform().daemon().name(name).start(this::replay);
+	}
+
+	/**
+	 * {@return a future completed with the number of replayed telegrams when the replay is done, or when this link
+	 * got closed during the replay}
+	 */
+	public CompletableFuture<Long> replayDone() { return replayed; }
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings) { this.settings = settings; }
+
+	@Override
+	public KNXMediumSettings getKNXMedium() { return settings; }
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l) { listeners.add(l); }
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l) { listeners.remove(l); }
+
+	@Override
+	public void setHopCount(final int count) { hopCount = count; }
+
+	@Override
+	public int getHopCount() { return hopCount; }
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte... nsdu) throws KNXLinkClosedException {
+		send(new CEMILData(CEMILData.MC_LDATA_REQ, settings.getDeviceAddress(), dst, nsdu, p), false);
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXLinkClosedException {
+		send(new CEMILData(CEMILData.MC_LDATA_REQ, settings.getDeviceAddress(), dst, nsdu, p), true);
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXLinkClosedException {
+		if (closed)
+			throw new KNXLinkClosedException("link closed");
+		final KNXAddress dst = msg.getDestination();
+		final byte[] tpdu = msg.getPayload();
+		final IndividualAddress src = settings.getDeviceAddress();
+
+		final var con = new CEMILData(CEMILData.MC_LDATA_CON, src, dst, tpdu, msg.getPriority());
+		fire(l -> l.confirmation(new FrameEvent(this, con)));
+
+		if (!(dst instanceof GroupAddress) || tpdu.length < 2)
+			return;
+		final int raw = dst.getRawAddress();
+		final int svc = service(tpdu);
+		if (svc == groupWrite)
+			values.set(raw, new Value(src, tpdu.clone()));
+		else if (svc == groupRead) {
+			final Value value = values.get(raw);
+			if (value != null) {
+				final byte[] response = value.tpdu().clone();
+				response[1] = (byte) ((response[1] & 0x3f) | groupResponse);
+				// respond asynchronously, like a device on the bus would
+				Thread.startVirtualThread(() -> indicate(value.source(), raw, response));
+			}
+		}
+	}
+
+	@Override
+	public String getName() { return name; }
+
+	@Override
+	public boolean isOpen() { return !closed; }
+
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			if (replay != null)
+				replay.interrupt();
+		}
+		fire(l -> l.linkClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "user request")));
+		listeners.clear();
+	}
+
+	@Override
+	public String toString() {
+		return name + (speed == MaxSpeed ? " at max speed" : " at " + speed + "x speed");
+	}
+
+	private void replay() {
+		final long start = System.nanoTime();
+		long first = 0;
+		long count = 0;
+		try (var telegrams = capture.telegrams()) {
+			for (final var i = telegrams.iterator(); !closed && i.hasNext(); count++) {
+				final var t = i.next();
+				if (count == 0)
+					first = t.epochNanos();
+				if (speed != MaxSpeed)
+					waitUntil(start + (long) ((t.epochNanos() - first) / speed));
+
+				final byte[] tpdu = tpdu(t.serviceCode(), t.asdu(), t.lengthOptimizedApdu());
+				final int dst = t.destination().getRawAddress();
+				if (t.serviceCode() != groupRead)
+					values.set(dst, new Value(t.source(), tpdu));
+				indicate(t.source(), dst, tpdu);
+			}
+			replayed.complete(count);
+		}
+		catch (final UncheckedIOException e) {
+			// closing this link interrupts the replay, which might interrupt mapping a capture segment
+			if (closed)
+				replayed.complete(count);
+			else
+				replayed.completeExceptionally(e.getCause());
+		}
+	}
+
+	private void waitUntil(final long nanoTime) {
+		long remaining;
+		while (!closed && (remaining = nanoTime - System.nanoTime()) > 0)
+			LockSupport.parkNanos(this, remaining);
+	}
+
+	private void indicate(final IndividualAddress src, final int dst, final byte[] tpdu) {
+		if (closed)
+			return;
+		final var frame = new CEMILData(CEMILData.MC_LDATA_IND, src, new GroupAddress(dst), tpdu, Priority.LOW);
+		fire(l -> l.indication(new FrameEvent(this, frame)));
+	}
+
+	private void fire(final Consumer<NetworkLinkListener> notify) {
+		for (final var l : listeners) {
+			try {
+				notify.accept(l);
+			}
+			catch (final RuntimeException e) {
+				System.err.println(name + ": link listener " + e);
+			}
+		}
+	}
+
+	private static int service(final byte[] tpdu) {
+		return ((tpdu[0] & 0x03) << 8 | tpdu[1] & 0xff) & 0x3c0;
+	}
+
+	// creates the TPDU of a group service, with the ASDU in the APCI for a length-optimized APDU (or a read)
+	private static byte[] tpdu(final int svc, final byte[] asdu, final boolean lengthOptimized) {
+		if (asdu.length == 0 || lengthOptimized && asdu.length == 1) {
+			final byte data = asdu.length == 0 ? 0 : asdu[0];
+			return new byte[] { (byte) (svc >> 8), (byte) (svc | data) };
+		}
+		final byte[] tpdu = new byte[2 + asdu.length];
+		tpdu[0] = (byte) (svc >> 8);
+		tpdu[1] = (byte) svc;
+		System.arraycopy(asdu, 0, tpdu, 2, asdu.length);
+		return tpdu;
+	}
+}
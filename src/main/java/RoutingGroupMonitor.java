@@ -0,0 +1,62 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.LocalTime;
+import java.util.HexFormat;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+
+/**
+ * Example code monitoring the group notifications of KNX IP routing (multicast group 224.0.23.12) using a
+ * {@link RoutingReceiver}. Unlike the {@link GroupMonitor}, it does not use a network link and process communicator,
+ * but reads the group notifications directly from the receive buffers of the routing receiver. The output is the same as
+ * the one of the group monitor.
+ * <p>
+ * Note that this example does not exit, i.e., it monitors forever.
+ */
+public class RoutingGroupMonitor {
+	private static final String multicastGroup = "224.0.23.12";
+
+	public static void main(final String[] args) {
+		try (var receiver = new RoutingReceiver(RoutingReceiver.defaultInterface(),
+				InetAddress.getByName(multicastGroup), 64)) {
+			receiver.addListener(RoutingGroupMonitor::print);
+			System.out.println("Monitoring KNX IP routing using " + receiver + " ...");
+			receiver.awaitClose();
+		}
+		catch (final IOException | InterruptedException | RuntimeException e) {
+			System.err.println(e);
+		}
+	}
+
+	// Prints a group notification, other frames are ignored. The view is only valid during this call.
+	private static void print(final CemiView frame) {
+		final int apci = frame.apci();
+		if (!frame.isGroupDestination() || (apci != 0x00 && apci != 0x40 && apci != 0x80))
+			return;
+		final String svc = apci == 0x80 ? "write.ind" : apci == 0x00 ? "read.req" : "read.res";
+		final byte[] asdu = new byte[frame.asduLength()];
+		frame.copyAsdu(asdu);
+		System.out.println(LocalTime.now() + " " + new IndividualAddress(frame.source()) + "->"
+				+ new GroupAddress(frame.destination()) + " " + svc + ": " + HexFormat.of().formatHex(asdu));
+	}
+}
@@ -0,0 +1,245 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.calimero.FrameEvent;
+import io.calimero.KNXFormatException;
+import io.calimero.link.NetworkLinkListener;
+
+/**
+ * Receiver of KNXnet/IP routing indications, which parses received frames in place instead of creating frame objects.
+ * Datagrams are received into a fixed pool of direct buffers (slices of one off-heap slab), and handed off to a
+ * dispatcher thread. The dispatcher wraps a reused {@link CemiView} around the cEMI frame in the buffer and calls the
+ * listeners; afterwards, the buffer returns to the pool. Receiving and dispatching a frame does not allocate, listeners
+ * which only read a few fields of a frame don't allocate either. Listeners which need a frame object materialize it
+ * using {@link CemiView#toFrame()}, see {@link #adapt(NetworkLinkListener)}.
+ * <p>
+ * If the listeners are slower than the KNX IP network and the buffer pool is exhausted, the receiver stops receiving
+ * until a buffer is available again, and the socket receive buffer of the OS takes up (or drops) further datagrams.
+ * <p>
+ * The receiver handles plain KNX IP routing only; KNX IP Secure routing packets are not decrypted and ignored.
+ */
+public final class RoutingReceiver implements AutoCloseable {
+	/**
+	 * Listener of received frames. A listener is called on the dispatcher thread, the view is only valid during the
+	 * call.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+		void frame(CemiView frame);
+	}
+
+	private static final int port = 3671;
+	private static final int headerSize = 6;
+	private static final int routingIndication = 0x0530;
+	// large enough for a KNXnet/IP frame with an extended cEMI frame
+	private static final int bufferSize = 512;
+
+	private final DatagramChannel channel;
+	private final BlockingQueue<ByteBuffer> free;
+	private final BlockingQueue<ByteBuffer> received;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	// only used by the dispatcher
+	private final CemiView view = new CemiView();
+	private final Thread receiver;
+	private final Thread dispatcher;
+
+	private final LongAdder frames = new LongAdder();
+	private final LongAdder ignored = new LongAdder();
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final var netif = args.length > 0 ? NetworkInterface.getByName(args[0]) : defaultInterface();
+		try (var receiver = new RoutingReceiver(netif, InetAddress.getByName("224.0.23.12"), 64)) {
+			receiver.addListener(System.out::println);
+			System.out.println("Receiving KNX IP routing frames on " + netif.getName() + " ...");
+			receiver.awaitClose();
+		}
+	}
+
+	/**
+	 * Starts receiving routing indications.
+	 *
+	 * @param netif network interface to join the multicast group on
+	 * @param multicastGroup routing multicast group, usually 224.0.23.12
+	 * @param buffers number of pooled receive buffers, i.e., frames received but not dispatched yet
+	 * @throws IOException on error opening the socket or joining the multicast group
+	 */
+	public RoutingReceiver(final NetworkInterface netif, final InetAddress multicastGroup, final int buffers)
+		throws IOException {
+		channel = DatagramChannel.open(StandardProtocolFamily.INET).setOption(StandardSocketOptions.SO_REUSEADDR, true)
+				.bind(new InetSocketAddress(port)).setOption(StandardSocketOptions.IP_MULTICAST_IF, netif);
+		try {
+			channel.join(multicastGroup, netif);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+
+		final var slab = ByteBuffer.allocateDirect(buffers * bufferSize);
+		free = new ArrayBlockingQueue<>(buffers);
+		received = new ArrayBlockingQueue<>(buffers);
+		for (int i = 0; i < buffers; i++)
+			free.add(slab.slice(i * bufferSize, bufferSize));
+
+		dispatcher = Thread.ofPlatform().name("Routing receiver dispatcher").daemon().start(this::dispatch);
+		receiver = Thread.ofPlatform().name("Routing receiver " + multicastGroup.getHostAddress()).daemon()
+				.start(this::receive);
+	}
+
+	/**
+	 * {@return the first network interface which is up, not a loopback interface, and supports multicast}
+	 *
+	 * @throws SocketException on I/O error
+	 */
+	public static NetworkInterface defaultInterface() throws SocketException {
+		return NetworkInterface.networkInterfaces().filter(RoutingReceiver::usable).findFirst().orElseThrow();
+	}
+
+	public void addListener(final Listener l) { listeners.add(l); }
+
+	public void removeListener(final Listener l) { listeners.remove(l); }
+
+	/**
+	 * Adapts a network link listener, for listeners which need frame objects. Every frame is materialized and
+	 * delivered as indication.
+	 *
+	 * @param l network link listener
+	 * @return receiver listener
+	 */
+	public static Listener adapt(final NetworkLinkListener l) {
+		return frame -> {
+			try {
+				l.indication(new FrameEvent(RoutingReceiver.class, frame.toFrame()));
+			}
+			catch (final KNXFormatException e) {
+				System.err.println("Routing receiver: " + e.getMessage());
+			}
+		};
+	}
+
+	/**
+	 * Waits until the receiver is closed, or the socket got closed because of an I/O error.
+	 *
+	 * @throws InterruptedException on interrupt
+	 */
+	public void awaitClose() throws InterruptedException { receiver.join(); }
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		}
+		catch (final IOException e) {
+			System.err.println(this + ": " + e);
+		}
+		// the receiver might wait for a free buffer instead of blocking in receive
+		receiver.interrupt();
+		dispatcher.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return "routing receiver, " + frames + " frames, " + ignored + " ignored, " + free.size() + " free buffers";
+	}
+
+	private void receive() {
+		try {
+			while (true) {
+				final var buffer = free.take();
+				buffer.clear();
+				channel.receive(buffer);
+				received.put(buffer.flip());
+			}
+		}
+		catch (final IOException e) {
+			if (channel.isOpen())
+				System.err.println(this + ": " + e);
+		}
+		catch (final InterruptedException e) {
+			// closed
+		}
+		finally {
+			dispatcher.interrupt();
+		}
+	}
+
+	private void dispatch() {
+		try {
+			while (true) {
+				final var buffer = received.take();
+				try {
+					dispatch(buffer);
+				}
+				finally {
+					free.put(buffer);
+				}
+			}
+		}
+		catch (final InterruptedException e) {
+			// closed
+		}
+	}
+
+	private void dispatch(final ByteBuffer buffer) {
+		final int limit = buffer.limit();
+		if (limit < headerSize || buffer.get(0) != headerSize || buffer.get(1) != 0x10
+				|| (buffer.getShort(2) & 0xffff) != routingIndication) {
+			ignored.increment();
+			return;
+		}
+		final int totalLength = buffer.getShort(4) & 0xffff;
+		if (totalLength > limit || !view.wrap(buffer, headerSize, totalLength - headerSize)) {
+			ignored.increment();
+			return;
+		}
+		frames.increment();
+		for (final var l : listeners) {
+			try {
+				l.frame(view);
+			}
+			catch (final RuntimeException e) {
+				System.err.println("Routing receiver listener " + l + ": " + e);
+			}
+		}
+	}
+
+	private static boolean usable(final NetworkInterface netif) {
+		try {
+			return netif.isUp() && !netif.isLoopback() && netif.supportsMulticast();
+		}
+		catch (final SocketException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.knxnetip.SecureConnection;
+import io.calimero.knxnetip.TcpConnection;
+
+/**
+ * Cache of the keys of KNX IP Secure tunneling users. Deriving the user key and device authentication code from their
+ * passwords (PBKDF2 in {@link SecureConnection#hashUserPassword(char[])} and
+ * {@link SecureConnection#hashDeviceAuthenticationPassword(char[])}) costs far more than the session handshake itself.
+ * The cache derives the keys of a user once, in the background, and every secure session of that user afterwards,
+ * e.g., on reconnects, uses the cached keys.
+ * <p>
+ * Passwords are cleared after derivation, also if the derivation fails. The keys are kept in a direct buffer per user,
+ * and are overwritten with zeros when the cache is closed, or the user is registered again. Copies of the keys on the
+ * heap are not covered: {@link #keys(InetSocketAddress, int)} returns copies which the caller has to clear, and a
+ * session created by {@link #newSecureSession(TcpConnection, InetSocketAddress, int)} receives copies which it uses
+ * for its lifetime, and which are not cleared afterwards.
+ */
+public final class SecureCredentialCache implements AutoCloseable {
+	private static final int keySize = 16;
+
+	/**
+	 * User key and device authentication code, copies owned by the caller, which clears them after use.
+	 *
+	 * @param userKey user key
+	 * @param deviceAuthCode device authentication code, empty if the server is not authenticated
+	 */
+	public record Keys(byte[] userKey, byte[] deviceAuthCode) {}
+
+	private record User(InetSocketAddress server, int user) {}
+
+	// direct buffer per user, containing the user key followed by the device authentication code
+	private final Map<User, CompletableFuture<ByteBuffer>> users = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	private final AtomicLong derivations = new AtomicLong();
+	private final AtomicLong derivationNanos = new AtomicLong();
+	private final AtomicLong sessions = new AtomicLong();
+
+	/**
+	 * Registers a user of a server, and derives its keys in the background. Registering a user again replaces its
+	 * keys, e.g., after a password change.
+	 *
+	 * @param server control endpoint of the KNXnet/IP server
+	 * @param user user ID, 0 &lt; user &lt; 128
+	 * @param userPassword user password, cleared after derivation
+	 * @param deviceAuthPassword device authentication password, cleared after derivation; empty to not authenticate
+	 *        the server
+	 * @return future completing after the keys are derived
+	 */
+	public CompletableFuture<Void> register(final InetSocketAddress server, final int user, final char[] userPassword,
+			final char[] deviceAuthPassword) {
+		if (closed)
+			throw new IllegalStateException("credential cache closed");
+		final var keys = CompletableFuture.supplyAsync(() -> derive(userPassword, deviceAuthPassword),
+				task -> Thread.ofVirtual().name("Secure key derivation").start(task));
+		final var previous = users.put(new User(server, user), keys);
+		if (previous != null)
+			previous.thenAccept(SecureCredentialCache::wipe);
+		return keys.thenRun(() -> {});
+	}
+
+	/**
+	 * Returns copies of the cached keys of a user, waiting for their derivation if necessary.
+	 *
+	 * @param server control endpoint of the KNXnet/IP server
+	 * @param user user ID
+	 * @return the keys
+	 * @throws KNXIllegalArgumentException if the user is not registered
+	 * @throws InterruptedException on interrupt while waiting for the key derivation
+	 */
+	public Keys keys(final InetSocketAddress server, final int user) throws InterruptedException {
+		while (true) {
+			if (closed)
+				throw new IllegalStateException("credential cache closed");
+			final var keys = users.get(new User(server, user));
+			if (keys == null)
+				throw new KNXIllegalArgumentException("no credentials for user " + user + " of " + server);
+			final ByteBuffer buffer;
+			try {
+				buffer = keys.get();
+			}
+			catch (final ExecutionException e) {
+				throw new IllegalStateException("key derivation of user " + user + " failed", e.getCause());
+			}
+			synchronized (buffer) {
+				// a wiped buffer has no keys left, the user was registered again meanwhile, so we retry
+				if (buffer.limit() >= keySize) {
+					final byte[] userKey = new byte[keySize];
+					buffer.get(0, userKey);
+					final byte[] deviceAuthCode = new byte[buffer.limit() - keySize];
+					buffer.get(keySize, deviceAuthCode);
+					return new Keys(userKey, deviceAuthCode);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a secure session for a registered user, using the cached keys. The session receives copies of the keys;
+	 * they are not cleared, because the session needs them for every (re)authentication during its lifetime.
+	 *
+	 * @param tcp TCP connection to the server
+	 * @param server control endpoint of the server, as registered
+	 * @param user user ID
+	 * @return new secure session
+	 * @throws InterruptedException on interrupt while waiting for the key derivation
+	 */
+	public SecureConnection.Session newSecureSession(final TcpConnection tcp, final InetSocketAddress server,
+			final int user) throws InterruptedException {
+		final var keys = keys(server, user);
+		sessions.incrementAndGet();
+		return tcp.newSecureSession(user, keys.userKey(), keys.deviceAuthCode());
+	}
+
+	/**
+	 * Overwrites all cached keys, and closes the cache.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		users.values().forEach(keys -> keys.thenAccept(SecureCredentialCache::wipe));
+		users.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "secure credential cache (" + users.size() + " users, " + derivations + " key derivations in "
+				+ derivationNanos.get() / 1_000_000 + " ms, " + sessions + " sessions)";
+	}
+
+	private ByteBuffer derive(final char[] userPassword, final char[] deviceAuthPassword) {
+		final long start = System.nanoTime();
+		byte[] userKey = null;
+		byte[] deviceAuthCode = null;
+		try {
+			userKey = SecureConnection.hashUserPassword(userPassword);
+			deviceAuthCode = deviceAuthPassword.length > 0
+					? SecureConnection.hashDeviceAuthenticationPassword(deviceAuthPassword) : new byte[0];
+			return ByteBuffer.allocateDirect(2 * keySize).put(userKey).put(deviceAuthCode).flip();
+		}
+		finally {
+			if (userKey != null)
+				Arrays.fill(userKey, (byte) 0);
+			if (deviceAuthCode != null)
+				Arrays.fill(deviceAuthCode, (byte) 0);
+			Arrays.fill(userPassword, '\0');
+			Arrays.fill(deviceAuthPassword, '\0');
+			derivations.incrementAndGet();
+			derivationNanos.addAndGet(System.nanoTime() - start);
+		}
+	}
+
+	private static void wipe(final ByteBuffer keys) {
+		synchronized (keys) {
+			keys.clear();
+			while (keys.hasRemaining())
+				keys.put((byte) 0);
+			keys.limit(0);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link decorator with single-flight group reads: while a group read of a group address is in flight, i.e.,
+ * sent but not yet answered, further group reads of that address are not sent again. Callers reading concurrently
+ * share the group read in flight, and receive the same group response indication, which every process communicator of
+ * the link receives anyway. A group read is in flight until a group response (or group write) of its address is
+ * indicated, or the read timeout elapsed.
+ * <p>
+ * With a network buffer, wrap the base link, so that concurrent reads missing the buffer result in a single read on
+ * the KNX network: {@code networkBuffer.addConfiguration(new SingleFlightLink(link, timeout))}. All other frames are
+ * passed through to the decorated link unchanged.
+ */
+public final class SingleFlightLink implements KNXNetworkLink {
+	private static final int groupRead = 0x00;
+	private static final int groupResponse = 0x40;
+	private static final int groupWrite = 0x80;
+
+	@FunctionalInterface
+	private interface Send {
+		void send() throws KNXTimeoutException, KNXLinkClosedException;
+	}
+
+	// a group read in flight, sent completes when the sending call returned
+	private record InFlight(CompletableFuture<Void> sent, long deadline) {
+		boolean expired() { return System.nanoTime() - deadline >= 0; }
+	}
+
+	private final KNXNetworkLink link;
+	private final long readTimeout;
+	private final Map<KNXAddress, InFlight> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	private final NetworkLinkListener responses = new NetworkLinkListener() {
+		@Override
+		public void indication(final FrameEvent e) {
+			if (e.getFrame() instanceof final CEMILData ldata && ldata.getDestination() instanceof GroupAddress) {
+				final int svc = service(ldata.getPayload());
+				if (svc == groupResponse || svc == groupWrite)
+					inFlight.remove(ldata.getDestination());
+			}
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e) { inFlight.clear(); }
+	};
+
+	/**
+	 * Creates a single-flight decorator for {@code link}.
+	 *
+	 * @param link the link to decorate
+	 * @param readTimeout time after which a group read without response is no longer in flight, usually the response
+	 *        timeout of the process communicators using the link
+	 */
+	public SingleFlightLink(final KNXNetworkLink link, final Duration readTimeout) {
+		this.link = link;
+		this.readTimeout = readTimeout.toNanos();
+		link.addLinkListener(responses);
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		send(dst, nsdu, false, () -> link.sendRequest(dst, p, nsdu));
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte... nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		send(dst, nsdu, true, () -> link.sendRequestWait(dst, p, nsdu));
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException, KNXLinkClosedException {
+		send(msg.getDestination(), msg.getPayload(), waitForCon, () -> link.send(msg, waitForCon));
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings) { link.setKNXMedium(settings); }
+
+	@Override
+	public KNXMediumSettings getKNXMedium() { return link.getKNXMedium(); }
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l) { link.addLinkListener(l); }
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l) { link.removeLinkListener(l); }
+
+	@Override
+	public void setHopCount(final int count) { link.setHopCount(count); }
+
+	@Override
+	public int getHopCount() { return link.getHopCount(); }
+
+	@Override
+	public String getName() { return link.getName(); }
+
+	@Override
+	public boolean isOpen() { return link.isOpen(); }
+
+	@Override
+	public void close() {
+		link.removeLinkListener(responses);
+		link.close();
+	}
+
+	@Override
+	public String toString() {
+		return link + " (single-flight reads: " + sent + " sent, " + coalesced + " coalesced)";
+	}
+
+	private void send(final KNXAddress dst, final byte[] tpdu, final boolean wait, final Send send)
+		throws KNXTimeoutException, KNXLinkClosedException {
+		if (!(dst instanceof GroupAddress) || service(tpdu) != groupRead) {
+			send.send();
+			return;
+		}
+
+		final var read = new InFlight(new CompletableFuture<>(), System.nanoTime() + readTimeout);
+		InFlight current;
+		while ((current = inFlight.putIfAbsent(dst, read)) != null) {
+			if (!current.expired()) {
+				coalesced.incrementAndGet();
+				if (wait)
+					awaitSent(current);
+				return;
+			}
+			inFlight.remove(dst, current);
+		}
+
+		try {
+			send.send();
+			sent.incrementAndGet();
+			read.sent().complete(null);
+		}
+		catch (KNXTimeoutException | KNXLinkClosedException | RuntimeException e) {
+			inFlight.remove(dst, read);
+			read.sent().completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	// waits until the group read in flight got sent, and rethrows any exception of sending it
+	private static void awaitSent(final InFlight read) throws KNXTimeoutException, KNXLinkClosedException {
+		try {
+			read.sent().join();
+		}
+		catch (final CompletionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof final KNXTimeoutException timeout)
+				throw timeout;
+			if (cause instanceof final KNXLinkClosedException closed)
+				throw closed;
+			throw e;
+		}
+	}
+
+	private static int service(final byte[] tpdu) {
+		return tpdu.length < 2 ? -1 : (tpdu[0] & 0x03) << 8 | tpdu[1] & 0xc0;
+	}
+}
@@ -0,0 +1,187 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.calimero.buffer.Configuration;
+
+/**
+ * Persists the buffered state of a {@link BoundedStateFilter} across restarts. Without a snapshot, the network buffer
+ * starts empty, and the first poll cycle of an application reads every datapoint from the KNX network. With a
+ * snapshot, the buffer is warm on activation: {@link #activate(Configuration)} restores the snapshot and activates the
+ * buffer configuration, afterwards the state is saved periodically and on {@link #close()}. A snapshot which was
+ * never activated does not save on close, so it cannot overwrite the previous snapshot with an empty state.
+ * <p>
+ * Every entry keeps the time its value was received. When restoring, an entry only stays in the buffer for the rest
+ * of its time to live; entries older than their time to live are skipped, and are read from the KNX network on their
+ * first request.
+ * <p>
+ * Snapshot file layout (big endian): magic {@code KNXS}, format version (2 bytes), number of entries (4 bytes),
+ * followed by the entries with raw group address (2 bytes), raw source address (2 bytes), priority (1 byte), receive
+ * time in milliseconds since the epoch (8 bytes), TPDU length (1 byte), and TPDU. A snapshot is written to a temporary
+ * file first, and then atomically replaces the previous snapshot.
+ */
+public final class StateSnapshot implements AutoCloseable {
+	private static final int magic = 0x4b4e5853; // "KNXS"
+	private static final int version = 1;
+
+	private final BoundedStateFilter filter;
+	private final Path file;
+	private final Duration interval;
+	private final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("State snapshot").daemon().factory());
+	// set after a successful activation, the state is only saved on close if the snapshot got restored
+	private volatile boolean activated;
+
+	/**
+	 * Creates a snapshot for the state of {@code filter}.
+	 *
+	 * @param filter the state filter
+	 * @param file snapshot file
+	 * @param interval interval of periodic saves
+	 */
+	public StateSnapshot(final BoundedStateFilter filter, final Path file, final Duration interval) {
+		this.filter = filter;
+		this.file = file;
+		this.interval = interval;
+	}
+
+	/**
+	 * Restores the buffered state from the snapshot file (if any), and activates the buffer configuration {@code c},
+	 * whose network filter is the state filter of this snapshot. Restoring before the activation ensures that values
+	 * received from the KNX network are never replaced by older values of the snapshot. Starts saving the state
+	 * periodically.
+	 *
+	 * @param c the buffer configuration
+	 * @return number of restored entries
+	 */
+	public int activate(final Configuration c) {
+		int restored = 0;
+		try {
+			restored = filter.restore(load(), c);
+		}
+		catch (final IOException e) {
+			System.err.println("Ignoring state snapshot " + file + ": " + e);
+		}
+		c.activate(true);
+		final long millis = interval.toMillis();
+		saver.scheduleAtFixedRate(this::trySave, millis, millis, TimeUnit.MILLISECONDS);
+		activated = true;
+		return restored;
+	}
+
+	/**
+	 * Saves the current state of the filter.
+	 *
+	 * @throws IOException on error writing the snapshot
+	 */
+	public synchronized void save() throws IOException {
+		final var states = filter.states();
+		final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(magic);
+			out.writeShort(version);
+			out.writeInt(states.size());
+			for (final var state : states) {
+				out.writeShort(state.address());
+				out.writeShort(state.source());
+				out.writeByte(state.priority());
+				out.writeLong(state.receivedAt());
+				out.writeByte(state.tpdu().length);
+				out.write(state.tpdu());
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Stops saving periodically, and saves the current state if this snapshot was activated.
+	 */
+	@Override
+	public void close() {
+		saver.shutdown();
+		try {
+			saver.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (activated)
+			trySave();
+	}
+
+	@Override
+	public String toString() {
+		return "state snapshot " + file + " (every " + interval + ")";
+	}
+
+	private List<BoundedStateFilter.State> load() throws IOException {
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != magic)
+				throw new IOException("not a state snapshot");
+			final int v = in.readUnsignedShort();
+			if (v != version)
+				throw new IOException("unsupported snapshot format version " + v);
+			final int entries = in.readInt();
+			final List<BoundedStateFilter.State> states = new ArrayList<>();
+			for (int i = 0; i < entries; i++) {
+				final int address = in.readUnsignedShort();
+				final int source = in.readUnsignedShort();
+				final int priority = in.readUnsignedByte();
+				final long receivedAt = in.readLong();
+				final int length = in.readUnsignedByte();
+				final byte[] tpdu = in.readNBytes(length);
+				if (tpdu.length != length)
+					throw new EOFException();
+				states.add(new BoundedStateFilter.State(address, source, priority, tpdu, receivedAt));
+			}
+			return states;
+		}
+		catch (final NoSuchFileException e) {
+			return List.of();
+		}
+		catch (final EOFException e) {
+			throw new IOException("truncated state snapshot", e);
+		}
+	}
+
+	private void trySave() {
+		try {
+			save();
+		}
+		catch (IOException | RuntimeException e) {
+			System.err.println("Error saving state snapshot " + file + ": " + e);
+		}
+	}
+}
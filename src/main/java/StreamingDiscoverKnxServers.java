@@ -0,0 +1,51 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This example shows how to discover active KNXnet/IP servers using the {@link StreamingDiscoverer}. Unlike
+ * {@link DiscoverKnxServers}, which prints all servers after the discovery timeout, every server is printed the moment
+ * its search response arrives. Minimum requirements are Calimero version 3.0-SNAPSHOT and Java 21 (java.base).
+ * <p>
+ * You can safely run this example, no KNX messages are sent to the KNX network.
+ */
+public class StreamingDiscoverKnxServers {
+	public static void main(final String[] args) {
+		System.out.println("This example discovers all active KNXnet/IP servers in your IP network");
+
+		try {
+			// set true to be aware of Network Address Translation (NAT) during discovery
+			final boolean useNAT = false;
+			// results are printed as they arrive, the search ends after the timeout
+			final var results = StreamingDiscoverer.udp(useNAT).timeout(Duration.ofSeconds(3))
+					.search(r -> System.out.println(r.toString().replace(", ", "\n\t"))).get();
+			System.out.println("Found " + results.size() + " KNXnet/IP servers");
+
+			// a search can also stop early, here with the first responding server
+			StreamingDiscoverer.udp(useNAT).timeout(Duration.ofSeconds(3)).first().get().ifPresentOrElse(
+					r -> System.out.println("First responding server: " + r.response().getDevice().getName()),
+					() -> System.out.println("No KNXnet/IP server responded"));
+		}
+		catch (InterruptedException | ExecutionException e) {
+			System.err.println("Error during KNXnet/IP discovery: " + e);
+		}
+	}
+}
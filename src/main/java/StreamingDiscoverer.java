@@ -0,0 +1,278 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import io.calimero.KNXFormatException;
+import io.calimero.knxnetip.Discoverer.Result;
+import io.calimero.knxnetip.KNXnetIPConnection;
+import io.calimero.knxnetip.KNXnetIPRouting;
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.knxnetip.servicetype.SearchResponse;
+
+/**
+ * Streaming KNXnet/IP discovery. Unlike {@link io.calimero.knxnetip.Discoverer}, which completes with all search
+ * responses after its timeout, this discoverer emits every search response the moment it arrives, either to a callback
+ * or a {@link Flow.Publisher}. A search can stop early, once an expected number of servers responded or a specific
+ * server was found, e.g., {@code StreamingDiscoverer.udp(false).stopAfter(1).first()} completes with the first
+ * responding server.
+ * <p>
+ * A search sends a search request on all IPv4 addresses of all network interfaces which are up and support
+ * multicast, at once, and receives the responses of all interfaces with a single selector. Instances are immutable.
+ */
+public final class StreamingDiscoverer {
+	private static final int searchRequest = 0x0201;
+	private static final int searchResponse = 0x0202;
+	private static final int extendedSearchResponse = 0x020c;
+	private static final int maxDatagram = 512;
+
+	private final boolean nat;
+	private final Duration timeout;
+	private final int expected;
+	private final Predicate<Result<SearchResponse>> stop;
+
+	private StreamingDiscoverer(final boolean nat, final Duration timeout, final int expected,
+			final Predicate<Result<SearchResponse>> stop) {
+		this.nat = nat;
+		this.timeout = timeout;
+		this.expected = expected;
+		this.stop = stop;
+	}
+
+	/**
+	 * Creates a discoverer searching with a timeout of 3 seconds, and without early stop.
+	 *
+	 * @param useNat request responses to the NAT address of the search request, i.e., the sender address of the
+	 *        datagram, instead of the local endpoint
+	 * @return discoverer using UDP multicast
+	 */
+	public static StreamingDiscoverer udp(final boolean useNat) {
+		return new StreamingDiscoverer(useNat, Duration.ofSeconds(3), Integer.MAX_VALUE, r -> false);
+	}
+
+	/**
+	 * {@return a discoverer with the supplied search timeout}
+	 *
+	 * @param timeout maximum duration of a search
+	 */
+	public StreamingDiscoverer timeout(final Duration timeout) {
+		if (timeout.isNegative() || timeout.isZero())
+			throw new IllegalArgumentException("timeout " + timeout + " <= 0");
+		return new StreamingDiscoverer(nat, timeout, expected, stop);
+	}
+
+	/**
+	 * {@return a discoverer which stops searching after {@code responses} search responses}
+	 *
+	 * @param responses number of expected search responses
+	 */
+	public StreamingDiscoverer stopAfter(final int responses) {
+		if (responses < 1)
+			throw new IllegalArgumentException("expected responses " + responses + " < 1");
+		return new StreamingDiscoverer(nat, timeout, responses, stop);
+	}
+
+	/**
+	 * {@return a discoverer which stops searching after a search response matching {@code found}}
+	 *
+	 * @param found predicate matching the server to find, e.g., by its control endpoint or device name
+	 */
+	public StreamingDiscoverer stopWhen(final Predicate<Result<SearchResponse>> found) {
+		return new StreamingDiscoverer(nat, timeout, expected, found);
+	}
+
+	/**
+	 * Starts a search, and calls {@code onResult} with every search response as it arrives. The callback is invoked
+	 * from the search thread, in receive order.
+	 *
+	 * @param onResult consumer of search responses
+	 * @return future completing with all search responses after the timeout or an early stop
+	 */
+	public CompletableFuture<List<Result<SearchResponse>>> search(
+			final Consumer<? super Result<SearchResponse>> onResult) {
+		final var results = new CompletableFuture<List<Result<SearchResponse>>>();
+		Thread.ofVirtual().name("KNXnet/IP discovery").start(() -> {
+			try {
+				results.complete(run(onResult));
+			}
+			catch (IOException | RuntimeException e) {
+				results.completeExceptionally(e);
+			}
+		});
+		return results;
+	}
+
+	/**
+	 * Returns a publisher which starts a search for every subscriber, and publishes its search responses as they
+	 * arrive. The publisher completes the subscriber after the timeout or an early stop.
+	 *
+	 * @return publisher of search responses
+	 */
+	public Flow.Publisher<Result<SearchResponse>> publisher() {
+		return subscriber -> {
+			final var publisher = new SubmissionPublisher<Result<SearchResponse>>();
+			publisher.subscribe(subscriber);
+			search(publisher::submit).whenComplete((results, e) -> {
+				if (e == null)
+					publisher.close();
+				else
+					publisher.closeExceptionally(e);
+			});
+		};
+	}
+
+	/**
+	 * Searches for the first responding server.
+	 *
+	 * @return future completing with the first search response, or empty if no server responded within the timeout
+	 */
+	public CompletableFuture<Optional<Result<SearchResponse>>> first() {
+		return stopAfter(1).search(r -> {}).thenApply(results -> results.stream().findFirst());
+	}
+
+	private List<Result<SearchResponse>> run(final Consumer<? super Result<SearchResponse>> onResult)
+		throws IOException {
+		final List<Result<SearchResponse>> results = new ArrayList<>();
+		try (var selector = Selector.open()) {
+			try {
+				final var multicast = new InetSocketAddress(KNXnetIPRouting.DefaultMulticast,
+						KNXnetIPConnection.DEFAULT_PORT);
+				for (final var ni : interfaces())
+					for (final var addr : ni.inetAddresses().filter(Inet4Address.class::isInstance).toList())
+						sendSearchRequest(selector, ni, addr, multicast);
+				if (selector.keys().isEmpty())
+					return results;
+
+				// the same server responds once per interface, don't emit duplicates of an interface
+				final Set<List<Object>> received = new HashSet<>();
+				final var buffer = ByteBuffer.allocate(maxDatagram);
+				final long deadline = System.nanoTime() + timeout.toNanos();
+				long remaining;
+				while ((remaining = deadline - System.nanoTime()) > 0) {
+					selector.select(Math.max(1, remaining / 1_000_000));
+					for (final var i = selector.selectedKeys().iterator(); i.hasNext();) {
+						final var key = i.next();
+						i.remove();
+						final var channel = (DatagramChannel) key.channel();
+						final var ni = (NetworkInterface) key.attachment();
+						buffer.clear();
+						final var remote = (InetSocketAddress) channel.receive(buffer);
+						if (remote == null)
+							continue;
+						final var response = parse(buffer.flip());
+						if (response.isEmpty() || !received.add(List.of(ni, remote)))
+							continue;
+
+						final var result = new Result<>(response.get(), ni,
+								(InetSocketAddress) channel.getLocalAddress(), remote);
+						results.add(result);
+						onResult.accept(result);
+						if (results.size() >= expected || stop.test(result))
+							return results;
+					}
+				}
+				return results;
+			}
+			finally {
+				for (final var key : selector.keys())
+					key.channel().close();
+			}
+		}
+	}
+
+	private void sendSearchRequest(final Selector selector, final NetworkInterface ni, final InetAddress addr,
+		final InetSocketAddress multicast) {
+		try {
+			final var channel = DatagramChannel.open(StandardProtocolFamily.INET);
+			try {
+				channel.bind(new InetSocketAddress(addr, 0));
+				channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, ni);
+				channel.configureBlocking(false);
+				final var local = (InetSocketAddress) channel.getLocalAddress();
+				channel.send(searchRequest(nat ? new InetSocketAddress(0) : local), multicast);
+				channel.register(selector, SelectionKey.OP_READ, ni);
+			}
+			catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		}
+		catch (final IOException e) {
+			// interface unusable for multicast, continue with the other interfaces
+			System.err.println("KNXnet/IP discovery on " + ni.getName() + " (" + addr.getHostAddress() + "): " + e);
+		}
+	}
+
+	private static List<NetworkInterface> interfaces() throws SocketException {
+		return NetworkInterface.networkInterfaces().filter(ni -> {
+			try {
+				return ni.isUp() && ni.supportsMulticast();
+			}
+			catch (final SocketException e) {
+				return false;
+			}
+		}).toList();
+	}
+
+	// KNXnet/IP header and UDP control endpoint HPAI
+	private static ByteBuffer searchRequest(final InetSocketAddress responseEndpoint) {
+		final byte[] ip = responseEndpoint.getAddress() instanceof final Inet4Address ipv4 ? ipv4.getAddress()
+				: new byte[4];
+		return ByteBuffer.allocate(14).put((byte) 0x06).put((byte) 0x10).putShort((short) searchRequest)
+				.putShort((short) 14).put((byte) 0x08).put((byte) 0x01).put(ip)
+				.putShort((short) responseEndpoint.getPort()).flip();
+	}
+
+	private static Optional<SearchResponse> parse(final ByteBuffer datagram) {
+		final byte[] data = new byte[datagram.remaining()];
+		datagram.get(data);
+		try {
+			final var header = new KNXnetIPHeader(data, 0);
+			final int svc = header.getServiceType();
+			if ((svc != searchResponse && svc != extendedSearchResponse) || header.getTotalLength() > data.length)
+				return Optional.empty();
+			return Optional.of(SearchResponse.from(header, data, header.getStructLength()));
+		}
+		catch (final KNXFormatException e) {
+			return Optional.empty();
+		}
+	}
+}
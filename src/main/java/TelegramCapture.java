@@ -0,0 +1,167 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Records group notifications into an append-only binary capture, for post-mortem analysis of KNX traffic. A capture
+ * is a directory of segment files of fixed size, each written through a memory-mapped {@link FileChannel}; if a
+ * telegram does not fit into the current segment, the capture rolls over to a new segment file. Recording does not
+ * format any strings, and a write is a copy into the mapped segment. Use {@link TelegramCaptureReader} to read a
+ * capture.
+ * <p>
+ * Segment file layout (big endian): a 16 byte header with magic {@code KNXCAP}, format version (2 bytes), segment
+ * index (4 bytes), and 4 reserved bytes; followed by telegram records with
+ * <ul>
+ * <li>record length (2 bytes), including this length field</li>
+ * <li>timestamp in nanoseconds since the epoch (8 bytes)</li>
+ * <li>raw KNX source address (2 bytes)</li>
+ * <li>raw KNX group destination address (2 bytes)</li>
+ * <li>application layer service code (2 bytes); bit 15 is set for a length-optimized APDU, i.e., an ASDU of 6 bits
+ * contained in the APCI</li>
+ * <li>ASDU (record length - 16 bytes)</li>
+ * </ul>
+ * A record length of 0 marks the end of a segment; the unused (zero-filled) remainder of a segment is not truncated.
+ * <p>
+ * A capture is not thread-safe, all writes are expected from a single thread, e.g., the consumer thread of a
+ * {@link MonitorPipeline}. Recording always starts a new segment, existing segments in the directory are kept.
+ */
+public final class TelegramCapture implements MonitorPipeline.Sink {
+	/** Default segment size of 64 MiB, or about 3 million telegrams with a 4 byte ASDU. */
+	public static final int DefaultSegmentSize = 64 * 1024 * 1024;
+
+	static final byte[] magic = { 'K', 'N', 'X', 'C', 'A', 'P' };
+	static final int version = 1;
+	// flag of a length-optimized APDU in the service code of a record
+	static final int lengthOptimized = 0x8000;
+	static final int segmentHeaderSize = 16;
+	static final int recordHeaderSize = 16;
+	static final Pattern segmentName = Pattern.compile("telegrams-(\\d{6})\\.knxcap");
+
+	private final Path directory;
+	private final int segmentSize;
+
+	private int segmentIndex;
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+
+	/**
+	 * Creates a new capture in {@code directory}, creating the directory if necessary.
+	 *
+	 * @param directory capture directory
+	 * @param segmentSize size of a segment file in bytes
+	 * @throws IOException on error creating the directory or the first segment file
+	 */
+	public TelegramCapture(final Path directory, final int segmentSize) throws IOException {
+		if (segmentSize < segmentHeaderSize + recordHeaderSize + 255)
+			throw new IllegalArgumentException("segment size " + segmentSize + " too small");
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(directory);
+		segmentIndex = segments(directory).stream().mapToInt(TelegramCapture::segmentIndex).max().orElse(-1);
+		nextSegment();
+	}
+
+	@Override
+	public void write(final long epochNanos, final int svc, final int src, final int dst, final byte[] asdu,
+			final int offset, final int length, final boolean lengthOptimizedApdu) {
+		final int size = recordHeaderSize + Math.min(length, 255);
+		// always keep 2 bytes for the end-of-segment marker
+		if (segment.remaining() < size + 2) {
+			try {
+				nextSegment();
+			}
+			catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		segment.putShort((short) size).putLong(epochNanos).putShort((short) src).putShort((short) dst)
+				.putShort((short) (lengthOptimizedApdu ? svc | lengthOptimized : svc))
+				.put(asdu, offset, size - recordHeaderSize);
+	}
+
+	/**
+	 * Forces any changes of the current segment to the storage device.
+	 */
+	@Override
+	public void flush() {
+		segment.force();
+	}
+
+	/**
+	 * Flushes and closes the current segment. The segment mapping is released by the garbage collector.
+	 */
+	@Override
+	public void close() {
+		try {
+			closeSegment();
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "telegram capture " + directory + ", segment " + segmentIndex + " at offset "
+				+ (segment != null ? segment.position() : 0);
+	}
+
+	// returns the segment files of a capture directory, ordered by segment index
+	static List<Path> segments(final Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(p -> segmentName.matcher(p.getFileName().toString()).matches()).sorted().toList();
+		}
+	}
+
+	private static int segmentIndex(final Path segment) {
+		final var matcher = segmentName.matcher(segment.getFileName().toString());
+		return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+	}
+
+	private void nextSegment() throws IOException {
+		closeSegment();
+		segmentIndex++;
+		final Path file = directory.resolve("telegrams-%06d.knxcap".formatted(segmentIndex));
+		channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		segment = channel.map(MapMode.READ_WRITE, 0, segmentSize);
+		segment.order(ByteOrder.BIG_ENDIAN);
+		segment.put(magic).putShort((short) version).putInt(segmentIndex).putInt(0);
+	}
+
+	private void closeSegment() throws IOException {
+		if (channel == null)
+			return;
+		segment.force();
+		channel.close();
+		channel = null;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+
+/**
+ * Reads a telegram capture recorded by {@link TelegramCapture}, either as stream of {@link Telegram} records, or
+ * without allocation into a {@link MonitorPipeline.Sink}. Segments are memory-mapped read-only, one at a time.
+ * <p>
+ * Run this class with a capture directory as argument to print the capture, e.g.,
+ * {@code ./gradlew run -DmainClass=TelegramCaptureReader --args="capture"}.
+ */
+public final class TelegramCaptureReader {
+	/**
+	 * A captured group notification, with the same information as a process event.
+	 *
+	 * @param epochNanos timestamp in nanoseconds since the epoch
+	 * @param source KNX source address
+	 * @param destination KNX group destination address
+	 * @param serviceCode application layer service code, group read (0x00), group response (0x40), or group write
+	 *        (0x80)
+	 * @param asdu ASDU
+	 * @param lengthOptimizedApdu {@code true} if the ASDU was contained in the APCI (length-optimized APDU)
+	 */
+	public record Telegram(long epochNanos, IndividualAddress source, GroupAddress destination, int serviceCode,
+			byte[] asdu, boolean lengthOptimizedApdu) {
+
+		public Instant timestamp() { return Instant.ofEpochSecond(0, epochNanos); }
+
+		@Override
+		public String toString() {
+			final String svc = serviceCode == 0x80 ? "write.ind" : serviceCode == 0x00 ? "read.req" : "read.res";
+			return timestamp() + " " + source + "->" + destination + " " + svc + ": " + HexFormat.of().formatHex(asdu);
+		}
+	}
+
+	private final Path directory;
+	private final List<Path> segments;
+
+	public static void main(final String[] args) {
+		if (args.length != 1) {
+			System.out.println("Usage: TelegramCaptureReader <capture directory>");
+			return;
+		}
+		try (var output = MonitorOutput.stdout()) {
+			final long telegrams = new TelegramCaptureReader(Path.of(args[0])).forEach(output);
+			output.flush();
+			System.out.println(telegrams + " telegrams");
+		}
+		catch (IOException | RuntimeException e) {
+			System.err.println("Error reading telegram capture: " + e);
+		}
+	}
+
+	/**
+	 * Creates a reader for all segments currently in the capture directory.
+	 *
+	 * @param directory capture directory
+	 * @throws IOException on error listing the capture directory
+	 */
+	public TelegramCaptureReader(final Path directory) throws IOException {
+		this.directory = directory;
+		segments = TelegramCapture.segments(directory);
+	}
+
+	/**
+	 * Streams all captured telegrams in recording order. Segments are mapped lazily while the stream is consumed.
+	 *
+	 * @return stream of telegrams, an I/O error during consumption is thrown as {@link UncheckedIOException}
+	 */
+	public Stream<Telegram> telegrams() {
+		final var iterator = new TelegramIterator();
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+	}
+
+	/**
+	 * Passes all captured telegrams in recording order to {@code sink}, reusing a single ASDU buffer.
+	 *
+	 * @param sink the sink receiving the telegrams
+	 * @return number of telegrams read
+	 * @throws IOException on error mapping a segment, or if a segment is corrupt
+	 */
+	public long forEach(final MonitorPipeline.Sink sink) throws IOException {
+		final byte[] asdu = new byte[255];
+		long telegrams = 0;
+		for (final Path file : segments) {
+			final var segment = map(file);
+			int size;
+			while ((size = nextRecord(file, segment)) > 0) {
+				final long epochNanos = segment.getLong();
+				final int src = segment.getShort() & 0xffff;
+				final int dst = segment.getShort() & 0xffff;
+				final int svc = segment.getShort() & 0xffff;
+				final int length = size - TelegramCapture.recordHeaderSize;
+				segment.get(asdu, 0, length);
+				sink.write(epochNanos, svc & ~TelegramCapture.lengthOptimized, src, dst, asdu, 0, length,
+						(svc & TelegramCapture.lengthOptimized) != 0);
+				telegrams++;
+			}
+		}
+		return telegrams;
+	}
+
+	@Override
+	public String toString() {
+		return "telegram capture " + directory + " (" + segments.size() + " segments)";
+	}
+
+	private static MappedByteBuffer map(final Path file) throws IOException {
+		try (var channel = FileChannel.open(file)) {
+			final var segment = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			segment.order(ByteOrder.BIG_ENDIAN);
+			final byte[] magic = new byte[TelegramCapture.magic.length];
+			if (segment.remaining() >= TelegramCapture.segmentHeaderSize)
+				segment.get(magic);
+			if (!Arrays.equals(magic, TelegramCapture.magic))
+				throw new IOException(file + " is not a telegram capture segment");
+			final int version = segment.getShort();
+			if (version != TelegramCapture.version)
+				throw new IOException(file + ": unsupported capture format version " + version);
+			segment.position(TelegramCapture.segmentHeaderSize);
+			return segment;
+		}
+	}
+
+	// returns the size of the next record, with the segment positioned after the record length; or 0 at segment end
+	private static int nextRecord(final Path file, final MappedByteBuffer segment) throws IOException {
+		if (segment.remaining() < 2)
+			return 0;
+		final int size = segment.getShort() & 0xffff;
+		if (size == 0)
+			return 0;
+		if (size < TelegramCapture.recordHeaderSize || size - 2 > segment.remaining())
+			throw new IOException(file + ": corrupt record at offset " + (segment.position() - 2));
+		return size;
+	}
+
+	private final class TelegramIterator implements Iterator<Telegram> {
+		private int next;
+		private Path file;
+		private MappedByteBuffer segment;
+		private int recordSize;
+
+		@Override
+		public boolean hasNext() {
+			try {
+				while (recordSize == 0) {
+					if (segment != null && (recordSize = nextRecord(file, segment)) > 0)
+						break;
+					if (next == segments.size())
+						return false;
+					file = segments.get(next++);
+					segment = map(file);
+				}
+				return true;
+			}
+			catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public Telegram next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			final long epochNanos = segment.getLong();
+			final var src = new IndividualAddress(segment.getShort() & 0xffff);
+			final var dst = new GroupAddress(segment.getShort() & 0xffff);
+			final int svc = segment.getShort() & 0xffff;
+			final byte[] asdu = new byte[recordSize - TelegramCapture.recordHeaderSize];
+			segment.get(asdu);
+			recordSize = 0;
+			return new Telegram(epochNanos, src, dst, svc & ~TelegramCapture.lengthOptimized, asdu,
+					(svc & TelegramCapture.lengthOptimized) != 0);
+		}
+	}
+}
@@ -0,0 +1,409 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+
+/**
+ * Pool of KNXnet/IP tunneling connections. KNXnet/IP servers only provide a few tunnels, and a tunnel which was not
+ * closed properly stays pending on the server. With a tunnel pool, application components share tunnels: the pool
+ * opens at most a fixed number of tunnels per server, and hands out lightweight network link views backed by them.
+ * <ul>
+ * <li>A view sends its frames using its tunnel (fan-in), and every view of a tunnel receives all indications and
+ * confirmations of the tunnel (fan-out), just like a link of its own.</li>
+ * <li>A new view uses a new tunnel until the server has the maximum number of tunnels open, afterwards the tunnel with
+ * the fewest views.</li>
+ * <li>Closing a view only detaches it from its tunnel; tunnels stay open until the pool is closed. If a server closes
+ * a tunnel, the pool reconnects it with exponential backoff, and its views continue afterwards; while reconnecting,
+ * the views are not open and sends fail. If the tunnel can't be reconnected within 8 attempts, the pool drops the
+ * tunnel and closes its views, which notifies the link listeners of the views.</li>
+ * </ul>
+ * Settings of a view, like the hop count, are the settings of its tunnel, and therefore shared by all views of that
+ * tunnel.
+ */
+public final class TunnelPool implements AutoCloseable {
+	/**
+	 * Opens a tunneling link to a KNXnet/IP server.
+	 */
+	@FunctionalInterface
+	public interface LinkFactory {
+		KNXNetworkLink open(InetSocketAddress server) throws KNXException, InterruptedException;
+	}
+
+	private static final Duration initialBackoff = Duration.ofSeconds(1);
+	private static final Duration maxBackoff = Duration.ofMinutes(1);
+	private static final int maxReconnectAttempts = 8;
+
+	private final LinkFactory linkFactory;
+	private final int tunnelsPerServer;
+	private final Map<InetSocketAddress, List<Tunnel>> tunnels = new HashMap<>();
+	// servers which rejected a tunnel, with the number of tunnels open at that time
+	private final Map<InetSocketAddress, Integer> serverLimits = new HashMap<>();
+	// tunnels currently being opened, at most one per server; guarded by tunnels
+	private final Map<InetSocketAddress, CompletableFuture<Tunnel>> opening = new HashMap<>();
+	private volatile boolean closed;
+
+	public static void main(final String[] args) throws InterruptedException {
+		final var server = new InetSocketAddress(args.length > 0 ? args[0] : "192.168.10.10", 3671);
+		final var anyLocal = new InetSocketAddress(0);
+		try (var pool = new TunnelPool(gw -> KNXNetworkLinkIP.newTunnelingLink(anyLocal, gw, false, new TPSettings()),
+				2)) {
+			// four components, each with its own process communicator, share two tunnels
+			final List<ProcessCommunicator> components = new ArrayList<>();
+			for (int i = 0; i < 4; i++)
+				components.add(new ProcessCommunicatorImpl(pool.link(server)));
+			System.out.println(pool);
+			Thread.sleep(Duration.ofSeconds(30));
+			components.forEach(ProcessCommunicator::close);
+		}
+		catch (final KNXException e) {
+			System.err.println("Error opening tunnel: " + e);
+		}
+	}
+
+	/**
+	 * Creates a tunnel pool.
+	 *
+	 * @param linkFactory opens a tunneling link to a server
+	 * @param tunnelsPerServer maximum number of tunnels opened per server
+	 */
+	public TunnelPool(final LinkFactory linkFactory, final int tunnelsPerServer) {
+		if (tunnelsPerServer < 1)
+			throw new IllegalArgumentException("tunnels per server " + tunnelsPerServer + " < 1");
+		this.linkFactory = linkFactory;
+		this.tunnelsPerServer = tunnelsPerServer;
+	}
+
+	/**
+	 * Returns a network link view for {@code server}, opening a new tunnel if the maximum number of tunnels is not
+	 * reached yet. If the server rejects a new tunnel, e.g., because all its tunnels are in use, the view shares an
+	 * existing tunnel of the pool, and the pool opens no further tunnels to that server. Tunnels are opened without
+	 * holding the pool lock, one at a time per server; concurrent calls for a server wait for the tunnel being opened.
+	 *
+	 * @param server control endpoint of the KNXnet/IP server
+	 * @return network link view, close it when done
+	 * @throws KNXException if no tunnel to the server could be opened
+	 * @throws InterruptedException on interrupt while opening a tunnel
+	 */
+	public KNXNetworkLink link(final InetSocketAddress server) throws KNXException, InterruptedException {
+		final var open = new CompletableFuture<Tunnel>();
+		while (true) {
+			final CompletableFuture<Tunnel> inProgress;
+			synchronized (tunnels) {
+				if (closed)
+					throw new KNXLinkClosedException("tunnel pool closed");
+				inProgress = opening.get(server);
+				if (inProgress == null) {
+					final var serverTunnels = tunnels.computeIfAbsent(server, k -> new ArrayList<>());
+					final var least = leastUsed(serverTunnels);
+					final int limit = serverLimits.getOrDefault(server, tunnelsPerServer);
+					if (serverTunnels.size() >= limit || least.isPresent() && least.get().views.isEmpty())
+						return least.orElseThrow().newView();
+					opening.put(server, open);
+				}
+			}
+			if (inProgress == null)
+				break;
+			// wait for the tunnel being opened, afterwards either share it or open another one
+			try {
+				inProgress.get();
+			}
+			catch (final ExecutionException e) {
+				// reported by the opening thread
+			}
+		}
+
+		final KNXNetworkLink link;
+		try {
+			link = linkFactory.open(server);
+		}
+		catch (final KNXException e) {
+			final var shared = openFailed(server, open, e);
+			if (shared == null)
+				throw e;
+			return shared.newView();
+		}
+		catch (InterruptedException | RuntimeException e) {
+			openFailed(server, open, e);
+			throw e;
+		}
+		synchronized (tunnels) {
+			opening.remove(server);
+			if (closed) {
+				link.close();
+				open.completeExceptionally(new KNXLinkClosedException("tunnel pool closed"));
+				throw new KNXLinkClosedException("tunnel pool closed");
+			}
+			final var tunnel = new Tunnel(server, link);
+			tunnels.computeIfAbsent(server, k -> new ArrayList<>()).add(tunnel);
+			final var view = tunnel.newView();
+			open.complete(tunnel);
+			return view;
+		}
+	}
+
+	/**
+	 * Closes all tunnels, and with them all views.
+	 */
+	@Override
+	public void close() {
+		final List<Tunnel> all = new ArrayList<>();
+		synchronized (tunnels) {
+			closed = true;
+			tunnels.values().forEach(all::addAll);
+			tunnels.clear();
+		}
+		all.forEach(Tunnel::close);
+	}
+
+	@Override
+	public String toString() {
+		final var sb = new StringBuilder("tunnel pool");
+		synchronized (tunnels) {
+			tunnels.forEach((server, list) -> {
+				sb.append(' ').append(server.getHostString()).append(": ");
+				list.forEach(t -> sb.append('[').append(t.views.size()).append(" views] "));
+			});
+		}
+		return sb.toString().strip();
+	}
+
+	// returns the tunnel to share after a failed open, or null if the server has no tunnel to share
+	private Tunnel openFailed(final InetSocketAddress server, final CompletableFuture<Tunnel> open, final Exception e) {
+		synchronized (tunnels) {
+			opening.remove(server);
+			open.completeExceptionally(e);
+			final var serverTunnels = tunnels.getOrDefault(server, List.of());
+			final var least = leastUsed(serverTunnels);
+			if (least.isEmpty() || !(e instanceof KNXException))
+				return null;
+			// don't try again, the server probably has no free tunnel
+			serverLimits.put(server, serverTunnels.size());
+			System.err.println("Sharing tunnel to " + server.getHostString() + ": " + e.getMessage());
+			return least.get();
+		}
+	}
+
+	private static Optional<Tunnel> leastUsed(final List<Tunnel> serverTunnels) {
+		return serverTunnels.stream().min(Comparator.comparingInt(t -> t.views.size()));
+	}
+
+	// a pooled tunnel, which dispatches the events of its link to all views
+	private final class Tunnel implements NetworkLinkListener {
+		private final InetSocketAddress server;
+		private final List<View> views = new CopyOnWriteArrayList<>();
+		private volatile KNXNetworkLink link;
+		private volatile boolean reconnecting;
+		private volatile Thread reconnector;
+
+		Tunnel(final InetSocketAddress server, final KNXNetworkLink link) {
+			this.server = server;
+			this.link = link;
+			link.addLinkListener(this);
+		}
+
+		View newView() {
+			final var view = new View(this);
+			views.add(view);
+			return view;
+		}
+
+		KNXNetworkLink link() throws KNXLinkClosedException {
+			final var current = link;
+			if (reconnecting || !current.isOpen())
+				throw new KNXLinkClosedException("tunnel to " + server.getHostString() + " reconnecting");
+			return current;
+		}
+
+		@Override
+		public void indication(final FrameEvent e) { dispatch(NetworkLinkListener::indication, e); }
+
+		@Override
+		public void confirmation(final FrameEvent e) { dispatch(NetworkLinkListener::confirmation, e); }
+
+		@Override
+		public void linkClosed(final CloseEvent e) {
+			if (closed)
+				return;
+			System.err.println(server.getHostString() + ": tunnel closed (" + e.getReason() + "), reconnecting");
+			reconnecting = true;
+			reconnector = Thread.ofVirtual().name("Tunnel reconnect " + server.getHostString()).start(this::reconnect);
+		}
+
+		void close() {
+			final var t = reconnector;
+			if (t != null)
+				t.interrupt();
+			link.removeLinkListener(this);
+			link.close();
+			for (final var view : views)
+				view.close(CloseEvent.USER_REQUEST, "tunnel pool closed");
+		}
+
+		private <E> void dispatch(final BiConsumer<NetworkLinkListener, E> event, final E e) {
+			for (final var view : views)
+				for (final var l : view.listeners) {
+					try {
+						event.accept(l, e);
+					}
+					catch (final RuntimeException ex) {
+						System.err.println(server.getHostString() + ": link listener " + l + ": " + ex);
+					}
+				}
+		}
+
+		private void reconnect() {
+			Duration backoff = initialBackoff;
+			for (int attempt = 0; attempt < maxReconnectAttempts && !closed; attempt++) {
+				try {
+					// add jitter, so that tunnels closed at the same time don't reconnect in lockstep
+					final long jitter = ThreadLocalRandom.current().nextLong(backoff.toMillis() / 4 + 1);
+					Thread.sleep(backoff.plusMillis(jitter));
+					final var reconnected = linkFactory.open(server);
+					reconnected.addLinkListener(this);
+					link = reconnected;
+					reconnecting = false;
+					if (closed)
+						close();
+					return;
+				}
+				catch (final KNXException e) {
+					System.err.println(server.getHostString() + ": " + e.getMessage());
+				}
+				catch (final InterruptedException e) {
+					return;
+				}
+				backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+			}
+			if (closed)
+				return;
+			// give up, new views use another tunnel, and the views of this tunnel learn about the loss
+			synchronized (tunnels) {
+				tunnels.getOrDefault(server, new ArrayList<>()).remove(this);
+			}
+			final String reason = "tunnel lost, " + maxReconnectAttempts + " reconnect attempts failed";
+			System.err.println(server.getHostString() + ": " + reason);
+			for (final var view : views)
+				view.close(CloseEvent.INTERNAL, reason);
+		}
+	}
+
+	// network link view of a pooled tunnel
+	private static final class View implements KNXNetworkLink {
+		private final Tunnel tunnel;
+		private final List<NetworkLinkListener> listeners = new CopyOnWriteArrayList<>();
+		private volatile boolean closed;
+
+		View(final Tunnel tunnel) { this.tunnel = tunnel; }
+
+		@Override
+		public void sendRequest(final KNXAddress dst, final Priority p, final byte... nsdu)
+			throws KNXTimeoutException, KNXLinkClosedException {
+			link().sendRequest(dst, p, nsdu);
+		}
+
+		@Override
+		public void sendRequestWait(final KNXAddress dst, final Priority p, final byte... nsdu)
+			throws KNXTimeoutException, KNXLinkClosedException {
+			link().sendRequestWait(dst, p, nsdu);
+		}
+
+		@Override
+		public void send(final CEMILData msg, final boolean waitForCon)
+			throws KNXTimeoutException, KNXLinkClosedException {
+			link().send(msg, waitForCon);
+		}
+
+		@Override
+		public void setKNXMedium(final KNXMediumSettings settings) { tunnel.link.setKNXMedium(settings); }
+
+		@Override
+		public KNXMediumSettings getKNXMedium() { return tunnel.link.getKNXMedium(); }
+
+		@Override
+		public void addLinkListener(final NetworkLinkListener l) { listeners.add(l); }
+
+		@Override
+		public void removeLinkListener(final NetworkLinkListener l) { listeners.remove(l); }
+
+		@Override
+		public void setHopCount(final int count) { tunnel.link.setHopCount(count); }
+
+		@Override
+		public int getHopCount() { return tunnel.link.getHopCount(); }
+
+		@Override
+		public String getName() { return "pooled " + tunnel.server.getHostString(); }
+
+		@Override
+		public boolean isOpen() { return !closed && !tunnel.reconnecting && tunnel.link.isOpen(); }
+
+		@Override
+		public void close() { close(CloseEvent.USER_REQUEST, "pooled link view closed"); }
+
+		void close(final int initiator, final String reason) {
+			if (closed)
+				return;
+			closed = true;
+			tunnel.views.remove(this);
+			final var e = new CloseEvent(this, initiator, reason);
+			for (final var l : listeners)
+				l.linkClosed(e);
+			listeners.clear();
+		}
+
+		@Override
+		public String toString() {
+			return getName() + " (" + tunnel.views.size() + " views of tunnel)";
+		}
+
+		private KNXNetworkLink link() throws KNXLinkClosedException {
+			if (closed)
+				throw new KNXLinkClosedException("pooled link view closed");
+			return tunnel.link();
+		}
+	}
+}
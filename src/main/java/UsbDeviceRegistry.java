@@ -0,0 +1,254 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkUsb;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.serial.usb.UsbConnectionFactory;
+
+/**
+ * Registry of attached KNX USB devices. The registry enumerates the USB devices once, in the background, and answers
+ * device lookups from its cache. To notice hot-plugged devices, the registry rescans periodically and publishes an
+ * {@link DeviceEvent} for every attached or detached device.
+ * <p>
+ * Note that Calimero opens a USB link only by device identifier, so opening a link to a cached device still
+ * enumerates the USB bus in {@link KNXNetworkLinkUsb}; the registry identifies the device by its vendor and product
+ * ID, and serial number, so the link opens exactly the cached device.
+ * <p>
+ * Devices are enumerated by a {@link Backend}; {@link Backend#system()} uses the USB devices found by Calimero,
+ * {@link SimulatedBackend} allows to use the registry without USB hardware.
+ */
+public final class UsbDeviceRegistry implements AutoCloseable {
+	/**
+	 * Enumerates the attached KNX USB devices.
+	 */
+	@FunctionalInterface
+	public interface Backend {
+		List<UsbDevice> attachedDevices();
+
+		/**
+		 * {@return backend enumerating the KNX USB devices attached to this host}
+		 */
+		static Backend system() {
+			return () -> UsbConnectionFactory.attachedKnxUsbDevices().stream().map(d -> new UsbDevice(d.vendorId(),
+					d.productId(), d.serialNumber(), d.manufacturer(), d.product())).toList();
+		}
+	}
+
+	/**
+	 * Backend with simulated devices, which are attached and detached by the application.
+	 */
+	public static final class SimulatedBackend implements Backend {
+		private final Set<UsbDevice> devices = new LinkedHashSet<>();
+
+		public synchronized void attach(final UsbDevice device) { devices.add(device); }
+
+		public synchronized void detach(final UsbDevice device) { devices.remove(device); }
+
+		@Override
+		public synchronized List<UsbDevice> attachedDevices() { return List.copyOf(devices); }
+	}
+
+	/**
+	 * A KNX USB device.
+	 *
+	 * @param vendorId USB vendor ID
+	 * @param productId USB product ID
+	 * @param serialNumber serial number, or empty
+	 * @param manufacturer manufacturer name
+	 * @param product product name
+	 */
+	public record UsbDevice(int vendorId, int productId, String serialNumber, String manufacturer, String product) {
+		/**
+		 * {@return the USB vendor and product ID in the format {@code vendor:product}, e.g., {@code 0e77:0104}}
+		 */
+		public String id() {
+			final var hex = HexFormat.of();
+			return hex.toHexDigits((short) vendorId) + ":" + hex.toHexDigits((short) productId);
+		}
+
+		/**
+		 * {@return the device identifier of this device for opening a link, {@code vendor:product:serial}, or
+		 * {@code vendor:product} for a device without serial number}
+		 */
+		public String linkDevice() {
+			return serialNumber == null || serialNumber.isEmpty() ? id() : id() + ":" + serialNumber;
+		}
+
+		// same device matching as for links: vendor:product ID, or part of manufacturer or product name
+		boolean matches(final String device) {
+			final var lower = device.toLowerCase(Locale.ROOT);
+			return id().equals(lower) || contains(manufacturer, lower) || contains(product, lower);
+		}
+
+		private static boolean contains(final String name, final String part) {
+			return name != null && name.toLowerCase(Locale.ROOT).contains(part);
+		}
+	}
+
+	public enum Change { Attached, Detached }
+
+	/**
+	 * Device attached or detached.
+	 *
+	 * @param change attached or detached
+	 * @param device the device
+	 */
+	public record DeviceEvent(Change change, UsbDevice device) {}
+
+	private final Backend backend;
+	private final List<Consumer<? super DeviceEvent>> listeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService scanner = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("USB device registry").daemon().factory());
+	private final CompletableFuture<Void> enumerated;
+	private volatile List<UsbDevice> devices = List.of();
+
+	public static void main(final String[] args) throws InterruptedException {
+		try (var registry = new UsbDeviceRegistry(Backend.system(), Duration.ofSeconds(2))) {
+			registry.addListener(System.out::println);
+			System.out.println("KNX USB devices: " + registry.devices());
+			System.out.println("Watching for attached and detached devices ...");
+			Thread.sleep(Duration.ofMinutes(1));
+		}
+	}
+
+	/**
+	 * Creates a registry, and starts enumerating devices in the background.
+	 *
+	 * @param backend device enumeration
+	 * @param rescanInterval interval of rescans for attached or detached devices
+	 */
+	public UsbDeviceRegistry(final Backend backend, final Duration rescanInterval) {
+		this.backend = backend;
+		enumerated = CompletableFuture.runAsync(this::rescan, scanner);
+		final long millis = rescanInterval.toMillis();
+		scanner.scheduleWithFixedDelay(this::rescan, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the cached attached devices, and waits for the first enumeration if necessary.
+	 *
+	 * @return attached devices
+	 * @throws InterruptedException on interrupt while waiting for the first enumeration
+	 */
+	public List<UsbDevice> devices() throws InterruptedException {
+		try {
+			enumerated.get();
+		}
+		catch (final ExecutionException e) {
+			// reported by rescan, continue with what we have
+		}
+		return devices;
+	}
+
+	/**
+	 * Finds an attached device in the cache.
+	 *
+	 * @param device USB vendor:product ID, or (part of) the product or manufacturer name
+	 * @return the first matching device, or empty
+	 * @throws InterruptedException on interrupt while waiting for the first enumeration
+	 */
+	public Optional<UsbDevice> find(final String device) throws InterruptedException {
+		return devices().stream().filter(d -> d.matches(device)).findFirst();
+	}
+
+	/**
+	 * Opens a network link to a device of this registry, identified by its vendor and product ID, and its serial
+	 * number (see {@link UsbDevice#linkDevice()}). The link locates the device on the USB bus again. Devices without
+	 * serial number can only be opened if no other attached device has the same vendor and product ID.
+	 *
+	 * @param device the device
+	 * @param settings KNX medium settings
+	 * @return the network link
+	 * @throws KNXException on error opening the link, or if the device without serial number is ambiguous
+	 * @throws InterruptedException on interrupt
+	 */
+	public KNXNetworkLink open(final UsbDevice device, final KNXMediumSettings settings)
+		throws KNXException, InterruptedException {
+		final String id = device.linkDevice();
+		if (id.equals(device.id()) && devices().stream().filter(d -> d.id().equals(id)).count() > 1)
+			throw new KNXException("several attached KNX USB devices " + id + " without serial number");
+		return new KNXNetworkLinkUsb(id, settings);
+	}
+
+	public void addListener(final Consumer<? super DeviceEvent> l) { listeners.add(l); }
+
+	public void removeListener(final Consumer<? super DeviceEvent> l) { listeners.remove(l); }
+
+	/**
+	 * Enumerates the devices now, and publishes events for attached and detached devices.
+	 */
+	public synchronized void rescan() {
+		final List<UsbDevice> current;
+		try {
+			current = backend.attachedDevices();
+		}
+		catch (final RuntimeException e) {
+			System.err.println("USB device enumeration: " + e);
+			return;
+		}
+		final var previous = devices;
+		devices = List.copyOf(current);
+
+		final List<DeviceEvent> events = new ArrayList<>();
+		for (final var d : previous)
+			if (!current.contains(d))
+				events.add(new DeviceEvent(Change.Detached, d));
+		for (final var d : current)
+			if (!previous.contains(d))
+				events.add(new DeviceEvent(Change.Attached, d));
+		for (final var event : events)
+			for (final var l : listeners) {
+				// an exception would cancel the periodic rescan
+				try {
+					l.accept(event);
+				}
+				catch (final RuntimeException e) {
+					System.err.println("USB device listener: " + e);
+				}
+			}
+	}
+
+	@Override
+	public void close() {
+		scanner.shutdownNow();
+	}
+
+	@Override
+	public String toString() {
+		return "USB device registry (" + devices.size() + " devices)";
+	}
+}
@@ -0,0 +1,188 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+*/
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.datapoint.Datapoint;
+import io.calimero.dptxlator.DPTXlator;
+import io.calimero.link.KNXLinkClosedException;
+import io.calimero.process.ProcessCommunicator;
+
+/**
+ * Coalesces high-frequency group writes, e.g., of a dimming slider, to the latest value per group address. Writes are
+ * not sent immediately, but kept as pending value of their group address; a write replaces the pending value of its
+ * group address (last value wins). Every flush interval, the pending values are written using the process
+ * communicator, so a group address receives at most one group write per flush interval, and always its latest value.
+ * <p>
+ * A write which times out is retried with the next flush, unless a newer value is pending by then; after 3 timed out
+ * attempts, the write counts as failed. Closing the coalescer flushes all pending values; the process communicator is
+ * not closed.
+ */
+public final class WriteCoalescer implements AutoCloseable {
+	@FunctionalInterface
+	private interface Write {
+		void write(ProcessCommunicator pc) throws KNXException;
+	}
+
+	private record Pending(Write write, int attempts) {}
+
+	// attempts to write a value which times out, including the first one
+	private static final int maxAttempts = 3;
+
+	private final ProcessCommunicator pc;
+	private final Duration interval;
+	private final Map<GroupAddress, Pending> pending = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("Write coalescer").daemon().factory());
+	private volatile boolean closed;
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Creates a write coalescer and starts flushing pending writes.
+	 *
+	 * @param pc process communicator used for writing
+	 * @param flushInterval interval at which pending values are written
+	 */
+	public WriteCoalescer(final ProcessCommunicator pc, final Duration flushInterval) {
+		if (flushInterval.isNegative() || flushInterval.isZero())
+			throw new IllegalArgumentException("flush interval " + flushInterval + " <= 0");
+		this.pc = pc;
+		interval = flushInterval;
+		final long millis = Math.max(1, flushInterval.toMillis());
+		flusher.scheduleWithFixedDelay(this::flushPending, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Sets the pending boolean value of a group address.
+	 *
+	 * @param dst group address
+	 * @param value boolean value
+	 */
+	public void write(final GroupAddress dst, final boolean value) {
+		submit(dst, c -> c.write(dst, value));
+	}
+
+	/**
+	 * Sets the pending value of a group address. The coalescer keeps the translator until the value is written or
+	 * replaced; do not modify it afterwards, but use a new translator for the next value.
+	 *
+	 * @param dst group address
+	 * @param value translator containing the value
+	 */
+	public void write(final GroupAddress dst, final DPTXlator value) {
+		submit(dst, c -> c.write(dst, value));
+	}
+
+	/**
+	 * Sets the pending value of the main address of a datapoint.
+	 *
+	 * @param dp datapoint
+	 * @param value value formatted according to the DPT of the datapoint, e.g., "50 %"
+	 */
+	public void write(final Datapoint dp, final String value) {
+		submit(dp.getMainAddress(), c -> c.write(dp, value));
+	}
+
+	/**
+	 * Writes all pending values now.
+	 */
+	public void flush() {
+		flushPending();
+	}
+
+	/**
+	 * Stops flushing periodically, and writes all pending values.
+	 */
+	@Override
+	public void close() {
+		// after closed is set, no writes are submitted anymore, so the final flush writes every pending value
+		synchronized (pending) {
+			closed = true;
+		}
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flushPending();
+	}
+
+	@Override
+	public String toString() {
+		final long n = submitted.get();
+		final long written = sent.get();
+		return "write coalescer (every " + interval + "): " + n + " writes, " + written + " sent, "
+				+ (n - written - failed.get() - pending.size()) + " coalesced, " + failed + " failed";
+	}
+
+	private void submit(final GroupAddress dst, final Write write) {
+		synchronized (pending) {
+			if (closed)
+				throw new IllegalStateException("write coalescer closed");
+			pending.put(dst, new Pending(write, 1));
+		}
+		submitted.incrementAndGet();
+	}
+
+	private synchronized void flushPending() {
+		for (final var dst : pending.keySet()) {
+			final var write = pending.remove(dst);
+			if (write == null)
+				continue;
+			try {
+				write.write().write(pc);
+				sent.incrementAndGet();
+			}
+			catch (final KNXTimeoutException e) {
+				// retry with next flush, unless there is a newer value
+				if (closed || write.attempts() >= maxAttempts) {
+					failed.incrementAndGet();
+					System.err.println("Error writing " + dst + ": " + e.getMessage() + " (" + write.attempts()
+							+ " attempts)");
+				}
+				else
+					pending.putIfAbsent(dst, new Pending(write.write(), write.attempts() + 1));
+			}
+			catch (final KNXLinkClosedException e) {
+				failed.addAndGet(1 + pending.size());
+				pending.clear();
+				System.err.println(this + ": " + e.getMessage());
+				return;
+			}
+			catch (KNXException | RuntimeException e) {
+				failed.incrementAndGet();
+				System.err.println("Error writing " + dst + ": " + e.getMessage());
+			}
+		}
+	}
+}